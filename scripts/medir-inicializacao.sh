@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# Mede o cold start da API: tempo ate o primeiro GET /desafios com sucesso e memoria residente (RSS) nesse momento.
+#
+# Uso: scripts/medir-inicializacao.sh [repeticoes] -- <comando que sobe a API>
+#
+#   Modo normal:
+#     scripts/medir-inicializacao.sh 5 -- java -Xmx350m -jar target/devforge-api-0.0.1-SNAPSHOT.jar
+#   Modo rapido (mesmo layout da imagem Docker: jar extraido + AOT + arquivo CDS treinado):
+#     java -Djarmode=tools -jar target/devforge-api-0.0.1-SNAPSHOT.jar extract --destination /tmp/app
+#     (cd /tmp/app && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true -jar app.jar)
+#     scripts/medir-inicializacao.sh 5 -- java -Xmx350m -XX:SharedArchiveFile=/tmp/app/app.jsa \
+#         -Dspring.aot.enabled=true -Dspring.main.lazy-initialization=true -jar /tmp/app/app.jar
+#
+# Variaveis: PORTA (8080), CAMINHO (/desafios), TEMPO_MAXIMO em segundos (120).
+# Sem DB_URL, a API sobe com um H2 em memoria (o tempo do banco real fica de fora da comparacao).
+# O RSS vem de /proc (Linux) e e o do processo iniciado pelo comando, que deve ser o proprio java.
+
+set -u
+
+REPETICOES=1
+if [ "${1:-}" != "--" ]; then
+    REPETICOES=${1:?Informe as repeticoes ou -- seguido do comando}
+    shift
+fi
+if [ "${1:-}" != "--" ] || [ $# -lt 2 ]; then
+    echo "Uso: $0 [repeticoes] -- <comando que sobe a API>" >&2
+    exit 2
+fi
+shift
+
+PORTA=${PORTA:-8080}
+URL="http://localhost:${PORTA}${CAMINHO:-/desafios}"
+TEMPO_MAXIMO=${TEMPO_MAXIMO:-120}
+
+export SERVER_PORT=$PORTA
+export DB_URL=${DB_URL:-"jdbc:h2:mem:devforge;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE"}
+export DB_USERNAME=${DB_USERNAME:-sa}
+export DB_PASSWORD=${DB_PASSWORD:-}
+
+tempos=()
+memorias=()
+
+for ((i = 1; i <= REPETICOES; i++)); do
+    inicio=$(date +%s%N)
+    "$@" > /tmp/medir-inicializacao-$i.log 2>&1 &
+    pid=$!
+
+    limite=$((inicio + TEMPO_MAXIMO * 1000000000))
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null || [ "$(date +%s%N)" -gt "$limite" ]; then
+            echo "Execucao $i: a API nao respondeu (log em /tmp/medir-inicializacao-$i.log)" >&2
+            kill "$pid" 2> /dev/null
+            exit 1
+        fi
+        sleep 0.05
+    done
+    ms=$((($(date +%s%N) - inicio) / 1000000))
+    rss=$(awk '/^VmRSS:/ { print int($2 / 1024) }' "/proc/$pid/status" 2> /dev/null || echo "?")
+
+    kill "$pid" 2> /dev/null
+    wait "$pid" 2> /dev/null
+
+    echo "Execucao $i: primeiro GET com sucesso em ${ms} ms, RSS ${rss} MB"
+    tempos+=("$ms")
+    memorias+=("$rss")
+done
+
+mediana() {
+    printf '%s\n' "$@" | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+echo "Mediana de ${REPETICOES} execucao(oes): $(mediana "${tempos[@]}") ms ate o primeiro GET, RSS $(mediana "${memorias[@]}") MB"
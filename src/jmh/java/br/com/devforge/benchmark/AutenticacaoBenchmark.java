@@ -0,0 +1,162 @@
+package br.com.devforge.benchmark;
+
+import br.com.devforge.config.security.Administradores;
+import br.com.devforge.config.security.TokenSessao;
+import br.com.devforge.config.security.TokenSessaoFilter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara os dois modos de autenticação ({@code auth.modo}) por requisição e em memória.
+ * <p>
+ * SESSAO: busca a sessão pelo ID (como o gerenciador do Tomcat) e carrega o {@link SecurityContext}
+ * guardado nela. TOKEN: passa a requisição pelo {@link TokenSessaoFilter}, que verifica o HMAC do cookie
+ * e monta o principal.
+ * </p>
+ * No setup são criados {@code usuariosAtivos} logins e o heap retido por eles é impresso.
+ * No modo sessão cada login guarda o principal OAuth2 completo (atributos do GitHub); as sessões
+ * aqui são {@link MockHttpSession}, um pouco mais leves que a {@code StandardSession} do Tomcat,
+ * então o número é um piso. Para a alocação por requisição, rode com {@code -Djmh.args="-prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutenticacaoBenchmark {
+
+    public enum Modo { SESSAO, TOKEN }
+
+    @Param
+    public Modo modo;
+
+    @Param({"10000"})
+    public int usuariosAtivos;
+
+    private final Map<String, MockHttpSession> sessoes = new ConcurrentHashMap<>();
+    private final HttpSessionSecurityContextRepository repositorioSessao = new HttpSessionSecurityContextRepository();
+    private String[] idsSessao;
+
+    private TokenSessaoFilter filtro;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        TokenSessao tokenSessao = new TokenSessao();
+        ReflectionTestUtils.setField(tokenSessao, "modo", "token");
+        ReflectionTestUtils.setField(tokenSessao, "segredo", "segredo-de-benchmark-com-mais-de-32-bytes");
+        ReflectionTestUtils.setField(tokenSessao, "validade", Duration.ofHours(12));
+        ReflectionTestUtils.invokeMethod(tokenSessao, "inicializarChave");
+        // Tokens recém-emitidos não chegam à renovação, que é o único uso do cache de usuários no filtro
+        filtro = new TokenSessaoFilter(tokenSessao, new Administradores(""), null);
+
+        long heapAntes = heapUsado();
+        if (modo == Modo.SESSAO) {
+            idsSessao = new String[usuariosAtivos];
+            for (int i = 0; i < usuariosAtivos; i++) {
+                MockHttpSession sessao = new MockHttpSession();
+                sessao.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, contextoOAuth2(i));
+                sessoes.put(sessao.getId(), sessao);
+                idsSessao[i] = sessao.getId();
+            }
+        } else {
+            // O servidor não guarda nada por usuário; os tokens ficam no navegador (aqui só para gerar as requisições)
+            tokens = new String[usuariosAtivos];
+            heapAntes = heapUsado();
+            for (int i = 0; i < usuariosAtivos; i++) {
+                tokens[i] = tokenSessao.emitir(i, "dev" + i + "@devforge.com", "JUNIOR II");
+            }
+            heapAntes += tamanhoAproximado(tokens);
+        }
+        long retido = heapUsado() - heapAntes;
+        System.out.printf("%n[%s] heap retido no servidor por %d usuários ativos: %d KB (%d bytes/usuário)%n",
+                modo, usuariosAtivos, Math.max(0, retido) / 1024, Math.max(0, retido) / usuariosAtivos);
+    }
+
+    @Benchmark
+    public Object autenticarRequisicao() throws ServletException, IOException {
+        int i = ThreadLocalRandom.current().nextInt(usuariosAtivos);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/me");
+        if (modo == Modo.SESSAO) {
+            request.setSession(sessoes.get(idsSessao[i]));
+            return repositorioSessao.loadDeferredContext(request).get().getAuthentication();
+        }
+        request.setCookies(new Cookie(TokenSessao.NOME_COOKIE, tokens[i]));
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return autenticacao;
+    }
+
+    // Principal como o que o CustomOAuth2UserService devolve para um login do GitHub
+    private static SecurityContext contextoOAuth2(int i) {
+        Map<String, Object> atributos = new LinkedHashMap<>();
+        atributos.put("login", "dev" + i);
+        atributos.put("id", 1_000_000 + i);
+        atributos.put("node_id", "MDQ6VXNlcj" + i);
+        atributos.put("avatar_url", "https://avatars.githubusercontent.com/u/" + (1_000_000 + i) + "?v=4");
+        atributos.put("gravatar_id", "");
+        for (String campo : new String[]{"url", "html_url", "followers_url", "following_url", "gists_url", "starred_url",
+                "subscriptions_url", "organizations_url", "repos_url", "events_url", "received_events_url"}) {
+            atributos.put(campo, "https://api.github.com/users/dev" + i + "/" + campo);
+        }
+        atributos.put("type", "User");
+        atributos.put("site_admin", false);
+        atributos.put("name", "Dev Número " + i);
+        atributos.put("company", null);
+        atributos.put("blog", "");
+        atributos.put("location", "São Paulo, Brasil");
+        atributos.put("email", "dev" + i + "@devforge.com");
+        atributos.put("bio", "Desenvolvedor backend aprendendo na prática.");
+        atributos.put("public_repos", 42);
+        atributos.put("followers", 10);
+        atributos.put("following", 7);
+        atributos.put("created_at", "2020-01-01T00:00:00Z");
+        atributos.put("updated_at", "2026-01-01T00:00:00Z");
+        atributos.values().removeIf(v -> v == null);
+
+        DefaultOAuth2User usuario = new DefaultOAuth2User(
+                AuthorityUtils.createAuthorityList("OAUTH2_USER", "SCOPE_read:user", "SCOPE_user:email"), atributos, "id");
+        return new SecurityContextImpl(new OAuth2AuthenticationToken(usuario, usuario.getAuthorities(), "github"));
+    }
+
+    private static long tamanhoAproximado(String[] tokens) {
+        long total = 16L + 4L * tokens.length;
+        for (String token : tokens) {
+            total += 40 + token.length(); // String compacta (Latin-1) + cabeçalhos
+        }
+        return total;
+    }
+
+    private static long heapUsado() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
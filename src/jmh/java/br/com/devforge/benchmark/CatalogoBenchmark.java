@@ -0,0 +1,70 @@
+package br.com.devforge.benchmark;
+
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.repository.DesafioRepository;
+import br.com.devforge.service.CatalogoService;
+import br.com.devforge.service.busca.ModoCombinacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+
+/**
+ * Mede o caminho de {@code GET /desafios}: página servida do snapshot JSON em memória
+ * contra a página remontada (consulta + serialização) depois de uma invalidação.
+ * O repositório é simulado, então o custo de banco não entra na medição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogoBenchmark {
+
+    @Param({"20", "100"})
+    public int limite;
+
+    private CatalogoService catalogo;
+
+    @Setup
+    public void preparar() {
+        List<DesafioResumo> pagina = DadosBenchmark.desafios(limite + 1, 2000).stream()
+                .map(d -> new DesafioResumo(d.getId(), d.getTitulo(), d.getNivel(), d.getStack(), d.getDataCriacao()))
+                .toList();
+
+        DesafioRepository repository = Mockito.mock(DesafioRepository.class);
+        Mockito.when(repository.buscarPagina(anyString(), isNull(), anyLong(), any(Limit.class)))
+                .thenReturn(pagina);
+
+        catalogo = new CatalogoService();
+        ReflectionTestUtils.setField(catalogo, "repository", repository);
+        ReflectionTestUtils.setField(catalogo, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(catalogo, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(catalogo, "maxIdade", Duration.ofHours(1));
+        ReflectionTestUtils.setField(catalogo, "maxEntradas", 128);
+        ReflectionTestUtils.invokeMethod(catalogo, "inicializar");
+    }
+
+    @Benchmark
+    public byte[] paginaDoSnapshot() {
+        return catalogo.listarJson(null, List.of(), ModoCombinacao.AND, null, limite);
+    }
+
+    @Benchmark
+    public byte[] paginaRemontada() {
+        catalogo.invalidar();
+        return catalogo.listarJson(null, List.of(), ModoCombinacao.AND, null, limite);
+    }
+}
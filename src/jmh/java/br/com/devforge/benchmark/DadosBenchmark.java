@@ -0,0 +1,91 @@
+package br.com.devforge.benchmark;
+
+import br.com.devforge.model.Desafio;
+import br.com.devforge.model.Solucao;
+import br.com.devforge.model.Usuario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gera entidades com conteúdo parecido com o de produção para os benchmarks.
+ */
+final class DadosBenchmark {
+
+    private static final String[] NIVEIS = {"INICIANTE", "JUNIOR", "PLENO", "SENIOR"};
+    private static final String[] STACKS = {"Java, Spring Boot, Docker", "React, TypeScript", "Python, FastAPI, PostgreSQL", "Go, Kubernetes"};
+    private static final String TEXTO_BASE = "O sistema deve permitir que o usuário cadastre pedidos, acompanhe o status da entrega "
+            + "e receba notificações quando houver alteração. Considere concorrência, validação de dados e testes. ";
+
+    private DadosBenchmark() {
+    }
+
+    static String palavraAleatoria(Random random, int minimo, int maximo) {
+        int tamanho = minimo + random.nextInt(maximo - minimo + 1);
+        StringBuilder palavra = new StringBuilder(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            palavra.append((char) ('a' + random.nextInt(26)));
+        }
+        return palavra.toString();
+    }
+
+    static String texto(int tamanho) {
+        StringBuilder texto = new StringBuilder(tamanho + TEXTO_BASE.length());
+        while (texto.length() < tamanho) {
+            texto.append(TEXTO_BASE);
+        }
+        return texto.toString();
+    }
+
+    static Desafio desafio(long id, int tamanhoContexto) {
+        Desafio desafio = new Desafio();
+        desafio.setId(id);
+        desafio.setTitulo("API de pedidos #" + id);
+        desafio.setContexto(texto(tamanhoContexto));
+        desafio.setRequisitosFuncionais(texto(tamanhoContexto / 2));
+        desafio.setRequisitosTecnicos(texto(tamanhoContexto / 4));
+        desafio.setNivel(NIVEIS[(int) (id % NIVEIS.length)]);
+        desafio.setStack(STACKS[(int) (id % STACKS.length)]);
+        desafio.setStatus(id % 5 == 0 ? "PENDENTE" : "APROVADO");
+        return desafio;
+    }
+
+    static List<Desafio> desafios(int quantidade, int tamanhoContexto) {
+        List<Desafio> desafios = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            desafios.add(desafio(i, tamanhoContexto));
+        }
+        return desafios;
+    }
+
+    static List<Solucao> solucoes(int quantidade, Desafio desafio) {
+        List<Solucao> solucoes = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Solucao solucao = new Solucao();
+            solucao.setId((long) i);
+            solucao.setNomeAutor("Dev " + i);
+            solucao.setLinkRepositorio("https://github.com/dev" + i + "/desafio-" + desafio.getId());
+            solucao.setDesafio(desafio);
+            solucoes.add(solucao);
+        }
+        return solucoes;
+    }
+
+    static List<Usuario> usuarios(int quantidade) {
+        List<Usuario> usuarios = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setId(i);
+            usuario.setNome("Dev " + i);
+            usuario.setEmail("dev" + i + "@devforge.com.br");
+            usuario.setGithubUsername("dev" + i);
+            usuario.setAvatarUrl("https://avatars.githubusercontent.com/u/" + i);
+            usuario.setBio("Desenvolvedor backend apaixonado por sistemas distribuídos.");
+            usuario.setXpTotal(i * 37 % 12000);
+            usuario.atualizarNivel();
+            usuarios.add(usuario);
+        }
+        return usuarios;
+    }
+}
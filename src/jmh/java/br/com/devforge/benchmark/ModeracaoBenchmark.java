@@ -0,0 +1,97 @@
+package br.com.devforge.benchmark;
+
+import br.com.devforge.model.Desafio;
+import br.com.devforge.service.ModeracaoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede {@link ModeracaoService#isConteudoSeguro} com tamanhos realistas de desafio e de blocklist.
+ * A blocklist real (~460 termos) é completada com termos sintéticos até o tamanho do parâmetro.
+ * Os benchmarks de varredura rodam sem o cache de vereditos; {@link #copiaRepetidaComCache()} mede
+ * o custo de uma cópia repetida (hash do conteúdo + acerto no cache), para comparar com a varredura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModeracaoBenchmark {
+
+    /** Quantidade de termos na blocklist. */
+    @Param({"460", "10000", "50000"})
+    public int termos;
+
+    /** Tamanho aproximado (em caracteres) do contexto do desafio. */
+    @Param({"1000", "10000"})
+    public int tamanhoContexto;
+
+    private ModeracaoService servico;
+    private ModeracaoService servicoComCache;
+    private Desafio desafioLimpo;
+    private Desafio desafioComTermo;
+    private Path arquivoBlocklist;
+
+    @Setup
+    public void preparar() throws IOException {
+        List<String> lista = new ArrayList<>(new String(
+                new ClassPathResource("blocklist.txt").getInputStream().readAllBytes(), StandardCharsets.UTF_8).lines().toList());
+        Random random = new Random(42);
+        while (lista.size() < termos) {
+            lista.add(DadosBenchmark.palavraAleatoria(random, 6, 14) + " " + DadosBenchmark.palavraAleatoria(random, 4, 10));
+        }
+        arquivoBlocklist = Files.createTempFile("blocklist-benchmark", ".txt");
+        Files.write(arquivoBlocklist, lista, StandardCharsets.UTF_8);
+
+        servico = criarServico(0);
+        servicoComCache = criarServico(10_000);
+
+        desafioLimpo = DadosBenchmark.desafio(1, tamanhoContexto);
+        desafioComTermo = DadosBenchmark.desafio(2, tamanhoContexto);
+        desafioComTermo.setRequisitosTecnicos(desafioComTermo.getRequisitosTecnicos() + " clique aqui");
+    }
+
+    private ModeracaoService criarServico(long cacheMaxEntradas) {
+        ModeracaoService novo = new ModeracaoService();
+        ReflectionTestUtils.setField(novo, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(novo, "limitePalavra", true);
+        ReflectionTestUtils.setField(novo, "caminhoBlocklist", arquivoBlocklist.toString());
+        ReflectionTestUtils.setField(novo, "cacheMaxEntradas", cacheMaxEntradas);
+        ReflectionTestUtils.setField(novo, "cacheTtl", Duration.ofHours(1));
+        novo.carregarTermos();
+        return novo;
+    }
+
+    @TearDown
+    public void limpar() throws IOException {
+        Files.deleteIfExists(arquivoBlocklist);
+    }
+
+    @Benchmark
+    public boolean conteudoLimpo() {
+        return servico.isConteudoSeguro(desafioLimpo);
+    }
+
+    @Benchmark
+    public boolean conteudoComTermoProibido() {
+        return servico.isConteudoSeguro(desafioComTermo);
+    }
+
+    @Benchmark
+    public boolean copiaRepetidaComCache() {
+        return servicoComCache.isConteudoSeguro(desafioLimpo);
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.devforge.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o modo de threads da plataforma (pool fixo como o do Tomcat) com virtual threads
+ * sob alta concorrência, em requisições que fazem I/O bloqueante e usam o pool JDBC (Hikari).
+ * <p>
+ * Cada operação é uma rajada de {@code concorrencia} requisições simultâneas. Cada requisição espera
+ * {@code latenciaExternaMs} fora do banco (rede, provedor OAuth) e segura uma conexão por
+ * {@code latenciaBancoMs}. Requisições/s = score × concorrencia.
+ * </p>
+ * O heap usado e o pico de threads de cada iteração são impressos no fim da iteração.
+ * Para alocação por operação, rode com {@code -Djmh.args="-prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx350m", "-Xms350m"}) // Mesmo heap do container
+public class ModoThreadsBenchmark {
+
+    public enum Modo { PLATAFORMA, VIRTUAL }
+
+    /** Threads do pool no modo plataforma (padrão do Tomcat: server.tomcat.threads.max=200). */
+    private static final int THREADS_PLATAFORMA = 200;
+
+    @Param
+    public Modo modo;
+
+    @Param({"200", "2000"})
+    public int concorrencia;
+
+    @Param({"10"})
+    public int tamanhoPool;
+
+    @Param({"5"})
+    public int latenciaExternaMs;
+
+    @Param({"2"})
+    public int latenciaBancoMs;
+
+    private HikariDataSource dataSource;
+    private ExecutorService executor;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:benchmark_threads;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(tamanhoPool);
+        config.setConnectionTimeout(30_000);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection conexao = dataSource.getConnection(); Statement stmt = conexao.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS desafio (id BIGINT PRIMARY KEY, titulo VARCHAR(255))");
+            stmt.execute("MERGE INTO desafio KEY (id) VALUES (1, 'API de pedidos')");
+        }
+
+        executor = modo == Modo.VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(THREADS_PLATAFORMA);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void zerarPicoThreads() {
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void imprimirMemoria() {
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsadoMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        System.out.printf("%n[%s, concorrencia=%d] heap usado: %d MB, pico de threads da plataforma: %d%n",
+                modo, concorrencia, heapUsadoMb, threads.getPeakThreadCount());
+    }
+
+    @Benchmark
+    public int rajada() throws Exception {
+        List<Future<Integer>> respostas = new ArrayList<>(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            respostas.add(executor.submit(this::requisicao));
+        }
+        int total = 0;
+        for (Future<Integer> resposta : respostas) {
+            total += resposta.get();
+        }
+        return total;
+    }
+
+    private int requisicao() throws Exception {
+        Thread.sleep(latenciaExternaMs);
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement stmt = conexao.prepareStatement("SELECT COUNT(*) FROM desafio WHERE id > ?")) {
+            stmt.setLong(1, 0);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                Thread.sleep(latenciaBancoMs); // Ida e volta até o Postgres
+                return rs.getInt(1);
+            }
+        }
+    }
+}
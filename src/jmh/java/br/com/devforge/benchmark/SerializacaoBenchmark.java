@@ -0,0 +1,56 @@
+package br.com.devforge.benchmark;
+
+import br.com.devforge.model.Desafio;
+import br.com.devforge.model.Solucao;
+import br.com.devforge.model.Usuario;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a serialização Jackson das listas que os endpoints devolvem.
+ * Usa o mesmo construtor de ObjectMapper que o Spring MVC usa por padrão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<Desafio> desafios;
+    private List<Solucao> solucoes;
+    private List<Usuario> usuarios;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        desafios = DadosBenchmark.desafios(quantidade, 2000);
+        solucoes = DadosBenchmark.solucoes(quantidade, desafios.get(0));
+        usuarios = DadosBenchmark.usuarios(quantidade);
+    }
+
+    @Benchmark
+    public byte[] desafios() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(desafios);
+    }
+
+    @Benchmark
+    public byte[] solucoes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(solucoes);
+    }
+
+    @Benchmark
+    public byte[] usuarios() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(usuarios);
+    }
+}
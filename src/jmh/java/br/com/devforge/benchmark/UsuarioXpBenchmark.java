@@ -0,0 +1,39 @@
+package br.com.devforge.benchmark;
+
+import br.com.devforge.model.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede as regras de gamificação de {@link Usuario}: cálculo e recálculo de nível.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UsuarioXpBenchmark {
+
+    private Usuario usuario;
+    private int xp;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        usuario = new Usuario();
+    }
+
+    @Benchmark
+    public String calcularNivel() {
+        // Percorre todas as faixas de nível, como o agregador do ledger ao recalcular um lote
+        xp = (xp + 137) % 12000;
+        return Usuario.calcularNivel(xp);
+    }
+
+    @Benchmark
+    public String atualizarNivel() {
+        usuario.atualizarNivel();
+        return usuario.getNivel();
+    }
+}
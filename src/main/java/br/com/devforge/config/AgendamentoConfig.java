@@ -0,0 +1,13 @@
+package br.com.devforge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (@Scheduled) da aplicação,
+ * como a verificação de alterações na blocklist de moderação.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,86 @@
+package br.com.devforge.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Diagnóstico de "pinning" de virtual threads (modo {@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * Uma virtual thread fica presa (pinned) à thread da plataforma quando bloqueia dentro de um bloco
+ * {@code synchronized} ou de código nativo. Nesse tempo ela não libera o carrier, e poucos pins
+ * longos já bastam para travar o pool de carriers. Este componente escuta o evento JFR
+ * {@code jdk.VirtualThreadPinned} e registra no log a pilha de cada pin acima do limite,
+ * seja no nosso código ou em bibliotecas (driver JDBC, Hibernate, logging).
+ * </p>
+ * Desligado por padrão; ative com {@code diagnostico.pinning.habilitado=true}.
+ */
+@Component
+public class DiagnosticoPinning {
+
+    private static final Logger LOGGER = Logger.getLogger(DiagnosticoPinning.class.getName());
+    private static final int FRAMES_NO_LOG = 12;
+
+    @Value("${diagnostico.pinning.habilitado:false}")
+    private boolean habilitado;
+
+    /** Duração mínima de um pin para ser registrado. */
+    @Value("${diagnostico.pinning.limite:20ms}")
+    private Duration limite;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private RecordingStream stream;
+
+    @PostConstruct
+    void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        Counter pins = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Pins de virtual threads acima do limite configurado")
+                .register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(limite).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", evento -> {
+            pins.increment();
+            LOGGER.warning("Virtual thread presa por " + evento.getDuration().toMillis() + " ms em "
+                    + evento.getThread().getJavaName() + ":\n" + pilha(evento));
+        });
+        stream.startAsync();
+        LOGGER.info("Diagnóstico de pinning ativo (limite " + limite.toMillis() + " ms).");
+    }
+
+    @PreDestroy
+    void parar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private static String pilha(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "\t(sem stack trace)";
+        }
+        List<RecordedFrame> frames = evento.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(FRAMES_NO_LOG)
+                .map(f -> "\tat " + f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                        + "(linha " + f.getLineNumber() + ")")
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.devforge.config;
+
+import br.com.devforge.service.FilaModeracaoService;
+import br.com.devforge.service.ModeracaoService;
+import br.com.devforge.service.XpService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Inicialização tardia dos beans ({@code spring.main.lazy-initialization=true}, ligada na imagem Docker).
+ * <p>
+ * Com ela, o startup cria só o necessário para o Tomcat atender; o resto (clientes OAuth2, Feign,
+ * serviços que a primeira requisição não usa) nasce no primeiro uso. Os beans abaixo continuam
+ * sendo criados no startup porque ninguém os injeta e o trabalho deles não pode esperar uma requisição:
+ * aplicar as migrações do Flyway antes da primeira consulta, agendar as tarefas {@code @Scheduled},
+ * ligar o diagnóstico JFR e conferir o modo de threads do código AOT.
+ * </p>
+ */
+@Configuration
+public class InicializacaoConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter beansDeStartup() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                FlywayMigrationInitializer.class,
+                DiagnosticoPinning.class,
+                VerificacaoModoAot.class,
+                ModeracaoService.class,
+                FilaModeracaoService.class,
+                XpService.class);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.devforge.config;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serialização de entidades JPA fora da sessão do Hibernate ({@code spring.jpa.open-in-view=false}).
+ * <p>
+ * Uma associação LAZY que não foi carregada na transação (ex: o desafio de uma solução) vira só
+ * {@code {"id": ...}} no JSON, em vez de disparar uma consulta ou uma LazyInitializationException.
+ * </p>
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module()
+                .enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.devforge.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Confere, no startup com AOT ({@code -Dspring.aot.enabled=true}, perfil {@code rapido}), se o modo de threads
+ * pedido em runtime é o mesmo com que o código AOT foi gerado.
+ * <p>
+ * No AOT as condições são avaliadas no build: o executor do Tomcat em virtual threads existe ou não
+ * conforme o {@code spring.threads.virtual.enabled} daquele momento. Subir a imagem com outro
+ * {@code VIRTUAL_THREADS} seria ignorado em silêncio; aqui o startup falha dizendo como gerar a imagem certa.
+ * </p>
+ * Sem AOT as condições são avaliadas no startup e não há o que conferir.
+ */
+@Component
+public class VerificacaoModoAot {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ListableBeanFactory beanFactory;
+
+    @PostConstruct
+    void verificar() {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        // Só a definição do bean: não instancia nada
+        boolean virtualThreadsNoBuild = beanFactory.getBeanNamesForType(
+                TomcatVirtualThreadsWebServerFactoryCustomizer.class, false, false).length > 0;
+        if (virtualThreadsNoBuild != virtualThreads) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=" + virtualThreads
+                    + " em runtime, mas o código AOT foi gerado com " + virtualThreadsNoBuild
+                    + ". Gere a imagem com --build-arg VIRTUAL_THREADS=" + virtualThreads
+                    + " (ou suba sem -Dspring.aot.enabled=true).");
+        }
+    }
+}
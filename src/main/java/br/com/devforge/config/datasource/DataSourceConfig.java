@@ -0,0 +1,147 @@
+package br.com.devforge.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.logging.Logger;
+
+/**
+ * Conexões separadas para escrita (primário) e leitura (réplica).
+ * <p>
+ * Transações só de leitura vão para o pool da réplica: os métodos de consulta dos repositórios
+ * (o Spring Data os executa com {@code readOnly = true}), {@code @Transactional(readOnly = true)}
+ * e os {@code TransactionTemplate} de leitura. Todo o resto, inclusive leituras dentro de uma
+ * transação de escrita, usa o primário. O {@link LazyConnectionDataSourceProxy} só pega a conexão física
+ * no primeiro comando SQL, quando o gerenciador de transação já marcou se ela é só de leitura.
+ * </p>
+ * <p>
+ * Por isso {@code spring.jpa.open-in-view} fica desligado: com a sessão aberta durante a requisição inteira,
+ * a primeira conexão (da réplica, numa leitura) seria reaproveitada por uma escrita logo depois.
+ * </p>
+ * Sem {@code replica.datasource.url}, tudo vai para o primário, como antes.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final Logger LOGGER = Logger.getLogger(DataSourceConfig.class.getName());
+
+    /**
+     * Atraso de replicação no Postgres, em segundos. Zero quando a réplica já aplicou tudo que recebeu
+     * (senão um primário sem escritas pareceria atrasado) e NULL fora de uma réplica.
+     */
+    static final String CONSULTA_ATRASO_POSTGRES = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END""";
+
+    @Value("${replica.datasource.url:}")
+    private String url;
+
+    @Value("${replica.datasource.username:${spring.datasource.username:}}")
+    private String usuario;
+
+    @Value("${replica.datasource.password:${spring.datasource.password:}}")
+    private String senha;
+
+    @Value("${replica.datasource.maximum-pool-size:10}")
+    private int tamanhoPool;
+
+    @Value("${replica.datasource.connection-timeout:3000}")
+    private long timeoutConexao;
+
+    /**
+     * Atraso aceito nas leituras. Acima dele, as leituras vão para o primário até a réplica alcançar.
+     */
+    @Value("${replica.atraso-maximo:5s}")
+    private Duration atrasoMaximo;
+
+    /**
+     * Consulta que devolve o atraso da réplica em segundos. Vazio = consulta do Postgres.
+     */
+    @Value("${replica.consulta-atraso:}")
+    private String consultaAtraso;
+
+    private HikariDataSource poolReplica;
+    private RoteamentoReplica roteamento;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primario(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primario, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (url.isBlank()) {
+            return primario;
+        }
+
+        poolReplica = new HikariDataSource();
+        poolReplica.setPoolName("replica");
+        poolReplica.setJdbcUrl(url);
+        poolReplica.setUsername(usuario);
+        poolReplica.setPassword(senha);
+        poolReplica.setMaximumPoolSize(tamanhoPool);
+        poolReplica.setConnectionTimeout(timeoutConexao);
+        poolReplica.setReadOnly(true);
+
+        roteamento = new RoteamentoReplica(primario, poolReplica, atrasoMaximo,
+                consultaAtraso.isBlank() ? CONSULTA_ATRASO_POSTGRES : consultaAtraso);
+        meterRegistry.ifAvailable(this::registrarMetricas);
+
+        LOGGER.info("Leituras roteadas para a réplica (pool de " + tamanhoPool + ", atraso máximo de "
+                + atrasoMaximo.toMillis() + " ms).");
+        return rotear(primario, roteamento);
+    }
+
+    /**
+     * Transações só de leitura usam {@code leitura}; as demais usam {@code primario}.
+     */
+    static LazyConnectionDataSourceProxy rotear(DataSource primario, DataSource leitura) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+        proxy.setReadOnlyDataSource(leitura);
+        return proxy;
+    }
+
+    /**
+     * Mede o atraso da réplica. Roda na thread de agendamento, nunca na da requisição.
+     */
+    @Scheduled(fixedDelayString = "${replica.intervalo-verificacao:5s}")
+    public void verificarReplica() {
+        if (roteamento != null) {
+            roteamento.verificarAtraso();
+        }
+    }
+
+    @PreDestroy
+    void fecharReplica() {
+        if (poolReplica != null) {
+            poolReplica.close();
+        }
+    }
+
+    private void registrarMetricas(MeterRegistry registry) {
+        poolReplica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        Gauge.builder("banco.replica.atraso", roteamento, RoteamentoReplica::getAtrasoSegundos)
+                .description("Atraso da réplica de leitura na última verificação")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("banco.replica.em.dia", roteamento, r -> r.isReplicaEmDia() ? 1 : 0)
+                .description("1 = leituras na réplica, 0 = leituras desviadas para o primário")
+                .register(registry);
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.devforge.config.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Destino das transações só de leitura: a réplica enquanto ela estiver em dia, o primário caso contrário.
+ * <p>
+ * O atraso da réplica é medido periodicamente ({@link #verificarAtraso()}) com uma consulta configurável.
+ * Acima do {@code atrasoMaximo}, ou se a réplica não responder, as leituras voltam para o primário
+ * até a próxima verificação encontrar a réplica em dia de novo. Uma falha ao abrir conexão na réplica
+ * também desvia a leitura na hora, sem esperar a verificação.
+ * </p>
+ */
+class RoteamentoReplica extends AbstractDataSource {
+
+    private static final Logger LOGGER = Logger.getLogger(RoteamentoReplica.class.getName());
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final Duration atrasoMaximo;
+    private final String consultaAtraso;
+
+    private volatile boolean replicaEmDia = true;
+    private volatile double atrasoSegundos;
+
+    RoteamentoReplica(DataSource primario, DataSource replica, Duration atrasoMaximo, String consultaAtraso) {
+        this.primario = primario;
+        this.replica = replica;
+        this.atrasoMaximo = atrasoMaximo;
+        this.consultaAtraso = consultaAtraso;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicaEmDia) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                marcarEmDia(false, "sem conexão (" + e.getMessage() + ")");
+            }
+        }
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(); // Credenciais vêm da configuração de cada pool
+    }
+
+    /**
+     * Mede o atraso da réplica e decide para onde vão as próximas leituras.
+     *
+     * @return {@code true} se a réplica está em dia.
+     */
+    boolean verificarAtraso() {
+        try (Connection conexao = replica.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+            atrasoSegundos = resultado.next() ? resultado.getDouble(1) : 0; // NULL = sem atraso
+            boolean emDia = atrasoSegundos * 1000 <= atrasoMaximo.toMillis();
+            marcarEmDia(emDia, "atraso de " + atrasoSegundos + " s (máximo " + atrasoMaximo.toMillis() + " ms)");
+            return emDia;
+        } catch (SQLException e) {
+            marcarEmDia(false, "verificação falhou (" + e.getMessage() + ")");
+            return false;
+        }
+    }
+
+    boolean isReplicaEmDia() {
+        return replicaEmDia;
+    }
+
+    double getAtrasoSegundos() {
+        return atrasoSegundos;
+    }
+
+    private void marcarEmDia(boolean emDia, String motivo) {
+        if (replicaEmDia != emDia) {
+            LOGGER.log(emDia ? Level.INFO : Level.WARNING, emDia
+                    ? "Réplica em dia: leituras voltam para a réplica (" + motivo + ")."
+                    : "Réplica fora do ar ou atrasada: leituras vão para o primário (" + motivo + ").");
+        }
+        replicaEmDia = emDia;
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.devforge.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Papéis do usuário logado. Todo login recebe {@code OAUTH2_USER}; os emails de {@code auth.admins}
+ * recebem também {@code ROLE_ADMIN} (operações de manutenção, como o replay do ledger de XP).
+ * <p>
+ * Usado nos dois modos de autenticação: no login OAuth2 ({@link CustomOAuth2UserService}) e
+ * a cada requisição do modo token ({@link TokenSessaoFilter}), então tirar um email da lista vale sem novo login.
+ * </p>
+ */
+@Component
+public class Administradores {
+
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
+    private static final List<GrantedAuthority> USUARIO = AuthorityUtils.createAuthorityList("OAUTH2_USER");
+    private static final List<GrantedAuthority> ADMIN = AuthorityUtils.createAuthorityList("OAUTH2_USER", ROLE_ADMIN);
+
+    private final Set<String> emails;
+
+    public Administradores(@Value("${auth.admins:}") String admins) {
+        this.emails = Arrays.stream(admins.split(","))
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Autoridades de um usuário pelo email.
+     */
+    public List<GrantedAuthority> autoridades(String email) {
+        return email != null && emails.contains(email.toLowerCase(Locale.ROOT)) ? ADMIN : USUARIO;
+    }
+
+    /**
+     * {@code true} se o usuário logado tem o papel de administrador.
+     */
+    public static boolean isAdmin(OAuth2User principal) {
+        return principal != null && principal.getAuthorities().stream()
+                .anyMatch(autoridade -> ROLE_ADMIN.equals(autoridade.getAuthority()));
+    }
+}
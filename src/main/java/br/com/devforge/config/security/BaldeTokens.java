@@ -0,0 +1,48 @@
+package br.com.devforge.config.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem lock: até {@code capacidade} requisições de rajada, repostas a {@code porSegundo}.
+ * <p>
+ * O estado é um único instante (em nanos): quando o balde estaria cheio de novo. Cada requisição empurra
+ * esse instante um intervalo ({@code 1 / porSegundo}) para a frente; se ele passar de {@code capacidade}
+ * intervalos à frente de agora, o balde está vazio e a requisição é recusada. É o mesmo balde de tokens,
+ * só que guardado numa forma que cabe num {@link AtomicLong} e é atualizada com um CAS, sem sincronização
+ * entre requisições do mesmo usuário.
+ * </p>
+ */
+final class BaldeTokens {
+
+    private final long intervalo;  // Nanos para repor um token
+    private final long tolerancia; // Nanos equivalentes ao balde cheio
+
+    // Instante em que o balde volta a ficar cheio (no passado = cheio)
+    private final AtomicLong cheioEm;
+
+    BaldeTokens(int capacidade, double porSegundo, long agora) {
+        this.intervalo = Math.max(1, (long) (1_000_000_000L / porSegundo));
+        this.tolerancia = intervalo * capacidade;
+        this.cheioEm = new AtomicLong(agora);
+    }
+
+    /**
+     * Tenta tirar um token do balde.
+     *
+     * @param agora Instante atual em nanos ({@link System#nanoTime()}).
+     * @return 0 se a requisição foi admitida; senão, nanos até haver um token disponível.
+     */
+    long consumir(long agora) {
+        while (true) {
+            long atual = cheioEm.get();
+            long novo = Math.max(atual, agora) + intervalo;
+            long excesso = novo - agora - tolerancia;
+            if (excesso > 0) {
+                return excesso; // Sem token: o estado não muda
+            }
+            if (cheioEm.compareAndSet(atual, novo)) {
+                return 0;
+            }
+        }
+    }
+}
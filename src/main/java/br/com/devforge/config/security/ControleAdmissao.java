@@ -0,0 +1,108 @@
+package br.com.devforge.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limites das escritas: taxa por cliente e quantidade de escritas simultâneas no nó.
+ * <p>
+ * Cada cliente (usuário autenticado, ou IP sem login) tem um {@link BaldeTokens}. Os baldes ficam num
+ * cache Caffeine (concorrente, sem lock global) que descarta os parados há mais de {@code limite.escrita.ociosidade}
+ * e limita a quantidade total, então um ataque com muitos IPs não faz a memória crescer sem fim.
+ * </p>
+ * O teto de escritas simultâneas fica abaixo do pool do banco: passado o teto, a escrita é recusada na hora
+ * (429) em vez de esperar uma conexão e atrasar também as leituras.
+ */
+@Component
+public class ControleAdmissao {
+
+    /** Rajada máxima de escritas de um cliente. */
+    @Value("${limite.escrita.rajada:20}")
+    private int rajada;
+
+    /** Escritas por segundo repostas no balde de cada cliente. */
+    @Value("${limite.escrita.por-segundo:5}")
+    private double porSegundo;
+
+    @Value("${limite.escrita.ociosidade:10m}")
+    private Duration ociosidade;
+
+    @Value("${limite.escrita.max-baldes:100000}")
+    private long maxBaldes;
+
+    /** Escritas em andamento no nó inteiro. */
+    @Value("${limite.escrita.simultaneas:8}")
+    private int simultaneas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, BaldeTokens> baldes;
+    private Semaphore vagas;
+    private Counter recusadasPorTaxa;
+    private Counter recusadasPorConcorrencia;
+
+    @PostConstruct
+    void inicializar() {
+        baldes = Caffeine.newBuilder()
+                .maximumSize(maxBaldes)
+                .expireAfterAccess(ociosidade)
+                .build();
+        vagas = new Semaphore(simultaneas);
+
+        recusadasPorTaxa = Counter.builder("limite.escrita.recusadas").tag("motivo", "taxa")
+                .description("Escritas recusadas com 429")
+                .register(meterRegistry);
+        recusadasPorConcorrencia = Counter.builder("limite.escrita.recusadas").tag("motivo", "concorrencia")
+                .description("Escritas recusadas com 429")
+                .register(meterRegistry);
+        Gauge.builder("limite.escrita.em.andamento", vagas, v -> simultaneas - v.availablePermits())
+                .description("Escritas em andamento no nó")
+                .register(meterRegistry);
+        Gauge.builder("limite.escrita.clientes", baldes, Cache::estimatedSize)
+                .description("Clientes com balde de tokens ativo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tira um token do balde do cliente.
+     *
+     * @param cliente Chave do cliente (usuário ou IP).
+     * @return Tempo até o cliente poder escrever de novo; {@link Duration#ZERO} se a escrita foi admitida.
+     */
+    public Duration consumir(String cliente) {
+        long agora = System.nanoTime();
+        long espera = baldes.get(cliente, c -> new BaldeTokens(rajada, porSegundo, agora)).consumir(agora);
+        if (espera > 0) {
+            recusadasPorTaxa.increment();
+        }
+        return Duration.ofNanos(espera);
+    }
+
+    /**
+     * Reserva uma vaga de escrita sem esperar. Quem conseguiu a vaga precisa chamar {@link #liberar()} no fim.
+     *
+     * @return {@code false} se o nó já está no teto de escritas simultâneas.
+     */
+    public boolean reservar() {
+        if (vagas.tryAcquire()) {
+            return true;
+        }
+        recusadasPorConcorrencia.increment();
+        return false;
+    }
+
+    public void liberar() {
+        vagas.release();
+    }
+}
@@ -1,13 +1,17 @@
 package br.com.devforge.config.security;
 
+import br.com.devforge.dto.UsuarioSnapshot;
 import br.com.devforge.model.Usuario;
 import br.com.devforge.repository.UsuarioRepository;
+import br.com.devforge.service.UsuarioCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Map;
 import java.util.Optional;
@@ -21,14 +25,31 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private UsuarioCacheService usuarioCacheService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Administradores administradores;
+
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         OAuth2User oAuth2User = super.loadUser(userRequest);
         String provedor = userRequest.getClientRegistration().getRegistrationId();
-        return processarUsuario(provedor, oAuth2User);
+        String email = processarUsuario(provedor, oAuth2User);
+
+        // Mesmos atributos do provedor, com os papéis do DevForge (ex: ROLE_ADMIN) no lugar dos padrões
+        String atributoNome = userRequest.getClientRegistration().getProviderDetails()
+                .getUserInfoEndpoint().getUserNameAttributeName();
+        return new DefaultOAuth2User(administradores.autoridades(email), oAuth2User.getAttributes(), atributoNome);
     }
 
-    private OAuth2User processarUsuario(String provedor, OAuth2User oAuth2User) {
+    /**
+     * Cadastra o usuário no primeiro login (ou completa o avatar) e devolve o email que o identifica.
+     */
+    private String processarUsuario(String provedor, OAuth2User oAuth2User) {
         Map<String, Object> attributes = oAuth2User.getAttributes();
 
         // Logs para debug no Render (ajuda a ver o que está chegando)
@@ -73,16 +94,35 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             nome = githubUsername != null ? githubUsername : "Dev Sem Nome";
         }
 
+        // Login de veterano com cadastro em dia: nada a gravar, e com o cache quente nem vai ao banco
+        Optional<UsuarioSnapshot> emCache = usuarioCacheService.buscarPorEmail(email);
+        if (emCache.isPresent() && !precisaAvatar(emCache.get().avatarUrl(), avatarUrl)) {
+            LOGGER.info("Login de veterano: " + email);
+            return email;
+        }
+
+        // Consulta e gravação na mesma transação do primário: numa réplica atrasada,
+        // quem acabou de se cadastrar ainda não existiria e o INSERT seria repetido
+        String emailFinal = email;
+        String nomeFinal = nome;
+        String avatarFinal = avatarUrl;
+        String githubFinal = githubUsername;
+        transactionTemplate.executeWithoutResult(status ->
+                gravarUsuario(emailFinal, nomeFinal, avatarFinal, githubFinal));
+        return email;
+    }
+
+    private void gravarUsuario(String email, String nome, String avatarUrl, String githubUsername) {
         Optional<Usuario> usuarioExistente = usuarioRepository.findByEmail(email);
         Usuario usuario;
 
         if (usuarioExistente.isPresent()) {
             LOGGER.info("Login de veterano: " + email);
             usuario = usuarioExistente.get();
-            if (usuario.getAvatarUrl() == null || usuario.getAvatarUrl().isEmpty()) {
-                usuario.setAvatarUrl(avatarUrl);
+            if (!precisaAvatar(usuario.getAvatarUrl(), avatarUrl)) {
+                return; // Mantém status atual, sem UPDATE
             }
-            // Mantém status atual
+            usuario.setAvatarUrl(avatarUrl);
         } else {
             LOGGER.info("Novo cadastro iniciado: " + email);
             usuario = new Usuario();
@@ -94,7 +134,14 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             usuario.setCadastroCompleto(false); // Trava de Onboarding
         }
 
+        // Só chega aqui se algo mudou (cadastro novo ou avatar preenchido)
         usuarioRepository.save(usuario);
-        return oAuth2User;
+    }
+
+    /**
+     * O avatar só é preenchido quando o usuário ainda não tem um e o provedor mandou algum.
+     */
+    private static boolean precisaAvatar(String avatarAtual, String avatarProvedor) {
+        return (avatarAtual == null || avatarAtual.isEmpty()) && avatarProvedor != null && !avatarProvedor.isEmpty();
     }
 }
\ No newline at end of file
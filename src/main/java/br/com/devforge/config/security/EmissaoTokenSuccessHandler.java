@@ -0,0 +1,65 @@
+package br.com.devforge.config.security;
+
+import br.com.devforge.model.Usuario;
+import br.com.devforge.repository.UsuarioRepository;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Fim do login OAuth2 no modo {@code auth.modo=token}.
+ * <p>
+ * Emite o cookie assinado com ID, email e nível do usuário e descarta a sessão que o Spring
+ * precisou abrir só para guardar o {@code state} do OAuth2 durante o redirecionamento.
+ * Daqui em diante o usuário não ocupa memória em nenhum nó.
+ * </p>
+ */
+public class EmissaoTokenSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
+
+    private final TokenSessao tokenSessao;
+    private final UsuarioRepository usuarioRepository;
+
+    public EmissaoTokenSuccessHandler(TokenSessao tokenSessao, UsuarioRepository usuarioRepository, String urlDestino) {
+        super(urlDestino);
+        setAlwaysUseDefaultTargetUrl(true);
+        this.tokenSessao = tokenSessao;
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
+                                        Authentication authentication) throws IOException, ServletException {
+        OAuth2User principal = (OAuth2User) authentication.getPrincipal();
+        String email = getEmail(principal.getAttributes());
+
+        // O CustomOAuth2UserService acabou de gravar o usuário
+        Usuario usuario = usuarioRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado no banco local"));
+
+        String token = tokenSessao.emitir(usuario.getId(), usuario.getEmail(), usuario.getNivel());
+        response.addHeader(HttpHeaders.SET_COOKIE, tokenSessao.cookie(token).toString());
+
+        HttpSession sessao = request.getSession(false);
+        if (sessao != null) {
+            sessao.invalidate();
+        }
+        super.onAuthenticationSuccess(request, response, authentication);
+    }
+
+    // Mesmo fallback do CustomOAuth2UserService para o GitHub com email privado
+    private static String getEmail(Map<String, Object> attributes) {
+        String email = (String) attributes.get("email");
+        if (email == null && attributes.get("login") != null) {
+            email = attributes.get("login") + "@no-email.github.com";
+        }
+        return email;
+    }
+}
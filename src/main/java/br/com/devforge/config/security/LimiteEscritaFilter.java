@@ -0,0 +1,90 @@
+package br.com.devforge.config.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Aplica o {@link ControleAdmissao} aos POST de {@code /desafios}, {@code /solucoes} e {@code /avaliacoes}
+ * (inclusive os {@code /batch}). Acima de um dos limites, responde 429 com {@code Retry-After} em segundos.
+ * <p>
+ * Roda dentro da cadeia do Spring Security, depois da autenticação: o cliente é o usuário logado
+ * ou, sem login, o IP de origem. Atrás do proxy, o {@code getRemoteAddr()} já vem resolvido pelo {@code RemoteIpValve}
+ * do Tomcat ({@code server.forward-headers-strategy=native}): o primeiro endereço do {@code X-Forwarded-For}, da direita
+ * para a esquerda, que não é um proxy confiável. Trocar o cabeçalho a cada requisição não dá um balde novo.
+ * </p>
+ * Não é um {@code @Component} para não ser registrado também como filtro do servlet; quem cria é o {@link SecurityConfig}.
+ */
+public class LimiteEscritaFilter extends OncePerRequestFilter {
+
+    private static final List<String> RECURSOS = List.of("/desafios", "/solucoes", "/avaliacoes");
+
+    // Vaga de escrita costuma abrir em milissegundos; o cliente tenta de novo no próximo segundo
+    private static final long ESPERA_SEM_VAGA_SEGUNDOS = 1;
+
+    private final ControleAdmissao controleAdmissao;
+    private final AuthenticationTrustResolver resolvedorAutenticacao = new AuthenticationTrustResolverImpl();
+
+    public LimiteEscritaFilter(ControleAdmissao controleAdmissao) {
+        this.controleAdmissao = controleAdmissao;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return RECURSOS.stream().noneMatch(recurso -> caminho.equals(recurso) || caminho.startsWith(recurso + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration espera = controleAdmissao.consumir(cliente(request));
+        if (!espera.isZero()) {
+            recusar(response, segundosArredondados(espera), "Limite de escritas por cliente atingido");
+            return;
+        }
+
+        if (!controleAdmissao.reservar()) {
+            recusar(response, ESPERA_SEM_VAGA_SEGUNDOS, "Servidor no limite de escritas simultâneas");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            controleAdmissao.liberar();
+        }
+    }
+
+    private String cliente(HttpServletRequest request) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (resolvedorAutenticacao.isAuthenticated(autenticacao)) {
+            return "usuario:" + autenticacao.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long segundosArredondados(Duration espera) {
+        return Math.max(1, (espera.toMillis() + 999) / 1000);
+    }
+
+    private static void recusar(HttpServletResponse response, long segundos, String mensagem) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), mensagem);
+    }
+}
@@ -1,6 +1,9 @@
 package br.com.devforge.config.security;
 
+import br.com.devforge.repository.UsuarioRepository;
+import br.com.devforge.service.UsuarioCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,6 +12,10 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -19,9 +26,26 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String URL_FRONTEND = "http://localhost:5173";
+
     @Autowired
     private CustomOAuth2UserService customOAuth2UserService;
 
+    @Autowired
+    private TokenSessao tokenSessao;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ControleAdmissao controleAdmissao;
+
+    @Autowired
+    private Administradores administradores;
+
+    @Autowired
+    private UsuarioCacheService usuarioCacheService;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -29,7 +53,12 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable) // Desabilita CSRF (essencial para testes locais)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/error", "/login/**", "/oauth2/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/desafios/**", "/solucoes/**").permitAll()
+                        // Actuator só na porta de gerenciamento (management.server.port); na porta pública, só os probes
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/livez", "/readyz").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/desafios/**", "/solucoes/**", "/ranking/**").permitAll()
+                        // Manutenção do ledger de XP (auth.admins)
+                        .requestMatchers(HttpMethod.POST, "/xp/usuarios/*/replay").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .oauth2Login(oauth2 -> oauth2
@@ -37,14 +66,40 @@ public class SecurityConfig {
                                 .userService(customOAuth2UserService)
                         )
                         // Redirecionamento fixo para o Front-end após sucesso
-                        .defaultSuccessUrl("http://localhost:5173", true)
+                        .defaultSuccessUrl(URL_FRONTEND, true)
                         // Se falhar, vai para uma rota de erro que podemos ver
                         .failureUrl("/login?error=true")
-                );
+                )
+                // Depois da autenticação (limita por usuário) e antes da autorização (sem login, limita por IP)
+                .addFilterBefore(new LimiteEscritaFilter(controleAdmissao), AuthorizationFilter.class);
+
+        if (tokenSessao.isAtivo()) {
+            configurarModoToken(http);
+        }
 
         return http.build();
     }
 
+    /**
+     * Modo sem estado ({@code auth.modo=token}): a autenticação vive num cookie assinado
+     * ({@link TokenSessao}) em vez de uma HttpSession, então qualquer nó atende qualquer usuário.
+     * A sessão só existe durante o redirecionamento do OAuth2 e é descartada no sucesso do login.
+     */
+    private void configurarModoToken(HttpSecurity http) throws Exception {
+        http
+                .addFilterAfter(new TokenSessaoFilter(tokenSessao, administradores, usuarioCacheService), SecurityContextHolderFilter.class)
+                // O contexto de segurança não é guardado na sessão: vem do cookie a cada requisição
+                .securityContext(context -> context
+                        .securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                // Sem request cache: um 401 de API não deve abrir sessão
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                // Sem sessão para invalidar: o logout apaga o cookie do token
+                .logout(logout -> logout.deleteCookies(TokenSessao.NOME_COOKIE))
+                .oauth2Login(oauth2 -> oauth2
+                        .successHandler(new EmissaoTokenSuccessHandler(tokenSessao, usuarioRepository, URL_FRONTEND))
+                );
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,156 @@
+package br.com.devforge.config.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Emite e verifica o token de sessão do modo {@code auth.modo=token}.
+ * <p>
+ * O token é {@code base64url(id:expiracao:nivel:email) + "." + base64url(HMAC-SHA256)}.
+ * Qualquer nó com o mesmo segredo verifica o token sozinho, sem sessão em memória
+ * e sem ir ao banco, o que permite escalar horizontalmente atrás de um balanceador simples.
+ * </p>
+ * O {@link Mac} é inicializado uma única vez com a chave; cada verificação usa um clone dele,
+ * evitando refazer o key schedule do HMAC em toda requisição.
+ */
+@Component
+public class TokenSessao {
+
+    private static final Logger LOGGER = Logger.getLogger(TokenSessao.class.getName());
+
+    public static final String NOME_COOKIE = "DEVFORGE_TOKEN";
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    @Value("${auth.modo:sessao}")
+    private String modo;
+
+    /**
+     * Segredo compartilhado entre os nós (mínimo de 32 bytes).
+     * Vazio = chave aleatória gerada no startup (só serve para um nó; tokens morrem no restart).
+     */
+    @Value("${auth.token.segredo:}")
+    private String segredo;
+
+    @Value("${auth.token.validade:12h}")
+    private Duration validade;
+
+    private Mac prototipo;
+
+    @PostConstruct
+    void inicializarChave() throws GeneralSecurityException {
+        byte[] chave = segredo.getBytes(StandardCharsets.UTF_8);
+        if (chave.length < TAMANHO_MINIMO_SEGREDO) {
+            if (isAtivo()) {
+                LOGGER.warning("auth.token.segredo ausente ou curto. Usando chave aleatória: "
+                        + "os tokens não valem em outros nós nem após um restart.");
+            }
+            chave = new byte[TAMANHO_MINIMO_SEGREDO];
+            new SecureRandom().nextBytes(chave);
+        }
+        prototipo = Mac.getInstance(ALGORITMO);
+        prototipo.init(new SecretKeySpec(chave, ALGORITMO));
+    }
+
+    /**
+     * @return {@code true} se a aplicação está no modo de token (sem sessão no servidor).
+     */
+    public boolean isAtivo() {
+        return "token".equalsIgnoreCase(modo);
+    }
+
+    /**
+     * Gera um token válido por {@code auth.token.validade} a partir de agora.
+     */
+    public String emitir(long usuarioId, String email, String nivel) {
+        long expiraEm = Instant.now().plus(validade).getEpochSecond();
+        String conteudo = usuarioId + ":" + expiraEm + ":" + (nivel == null ? "" : nivel) + ":" + email;
+        byte[] dados = conteudo.getBytes(StandardCharsets.UTF_8);
+        return CODIFICADOR.encodeToString(dados) + "." + CODIFICADOR.encodeToString(assinar(dados));
+    }
+
+    /**
+     * Confere a assinatura e a validade do token.
+     *
+     * @return Os dados do token, ou vazio se ele for inválido, adulterado ou expirado.
+     */
+    public Optional<DadosToken> verificar(String token) {
+        int ponto = token.indexOf('.');
+        if (ponto <= 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] dados = DECODIFICADOR.decode(token.substring(0, ponto));
+            byte[] assinatura = DECODIFICADOR.decode(token.substring(ponto + 1));
+            if (!MessageDigest.isEqual(assinar(dados), assinatura)) { // Comparação em tempo constante
+                return Optional.empty();
+            }
+            String[] partes = new String(dados, StandardCharsets.UTF_8).split(":", 4);
+            if (partes.length != 4) {
+                return Optional.empty();
+            }
+            long expiraEm = Long.parseLong(partes[1]);
+            if (Instant.now().getEpochSecond() >= expiraEm) {
+                return Optional.empty();
+            }
+            return Optional.of(new DadosToken(Long.parseLong(partes[0]), partes[3], partes[2], expiraEm));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty(); // Base64 ou número malformado
+        }
+    }
+
+    /**
+     * Renovação transparente: depois de passada metade da validade, o filtro emite um token novo.
+     */
+    public boolean precisaRenovar(DadosToken dados) {
+        long restante = dados.expiraEm() - Instant.now().getEpochSecond();
+        return restante < validade.toSeconds() / 2;
+    }
+
+    /**
+     * Cookie HttpOnly que carrega o token (mesmas regras Secure/SameSite=None do cookie de sessão).
+     */
+    public ResponseCookie cookie(String token) {
+        return ResponseCookie.from(NOME_COOKIE, token)
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("None")
+                .path("/")
+                .maxAge(validade)
+                .build();
+    }
+
+    private byte[] assinar(byte[] dados) {
+        try {
+            Mac mac = (Mac) prototipo.clone();
+            return mac.doFinal(dados);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Provedor de " + ALGORITMO + " não suporta clone", e);
+        }
+    }
+
+    /**
+     * Conteúdo de um token verificado.
+     *
+     * @param expiraEm Expiração em segundos desde a época (UTC).
+     */
+    public record DadosToken(long usuarioId, String email, String nivel, long expiraEm) {
+    }
+}
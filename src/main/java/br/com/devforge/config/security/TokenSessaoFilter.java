@@ -0,0 +1,83 @@
+package br.com.devforge.config.security;
+
+import br.com.devforge.dto.UsuarioSnapshot;
+import br.com.devforge.service.UsuarioCacheService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autentica a requisição pelo cookie {@value TokenSessao#NOME_COOKIE} no modo {@code auth.modo=token}.
+ * <p>
+ * O principal é um {@link DefaultOAuth2User} com os atributos {@code id}, {@code email} e {@code nivel},
+ * então os controllers continuam recebendo {@code @AuthenticationPrincipal OAuth2User} como no modo sessão.
+ * </p>
+ * Não é um {@code @Component} para não ser registrado também como filtro do servlet; quem cria é o {@link SecurityConfig}.
+ */
+public class TokenSessaoFilter extends OncePerRequestFilter {
+
+    private final TokenSessao tokenSessao;
+    private final Administradores administradores;
+    private final UsuarioCacheService usuarioCacheService;
+
+    public TokenSessaoFilter(TokenSessao tokenSessao, Administradores administradores, UsuarioCacheService usuarioCacheService) {
+        this.tokenSessao = tokenSessao;
+        this.administradores = administradores;
+        this.usuarioCacheService = usuarioCacheService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = lerCookie(request);
+        if (token != null) {
+            tokenSessao.verificar(token).ifPresent(dados -> {
+                List<GrantedAuthority> autoridades = administradores.autoridades(dados.email());
+                DefaultOAuth2User principal = new DefaultOAuth2User(autoridades, Map.of(
+                        "id", dados.usuarioId(),
+                        "email", dados.email(),
+                        "nivel", dados.nivel()), "email");
+
+                SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+                contexto.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null, autoridades));
+                SecurityContextHolder.setContext(contexto);
+
+                if (tokenSessao.precisaRenovar(dados)) {
+                    // O nível muda com o XP depois do login: o token renovado leva o atual, não o do token velho
+                    String nivel = usuarioCacheService.buscarPorEmail(dados.email())
+                            .map(UsuarioSnapshot::nivel)
+                            .orElse(dados.nivel());
+                    String novo = tokenSessao.emitir(dados.usuarioId(), dados.email(), nivel);
+                    response.addHeader(HttpHeaders.SET_COOKIE, tokenSessao.cookie(novo).toString());
+                }
+            });
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static String lerCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (TokenSessao.NOME_COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -1,40 +1,44 @@
 package br.com.devforge.controller;
 
+import br.com.devforge.dto.ItemLoteAvaliacao;
+import br.com.devforge.dto.ResultadoLote;
 import br.com.devforge.model.Avaliacao;
-import br.com.devforge.model.Solucao;
-import br.com.devforge.repository.AvaliacaoRepository;
-import br.com.devforge.repository.SolucaoRepository;
+import br.com.devforge.service.AvaliacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/avaliacoes")
 public class AvaliacaoController {
 
     @Autowired
-    private AvaliacaoRepository avaliacaoRepository;
-
-    @Autowired
-    private SolucaoRepository solucaoRepository;
-
+    private AvaliacaoService avaliacaoService;
+
+    /**
+     * Registra a avaliação de uma solução (nota de 1 a 5 e comentário)
+     * Nota 5 aprova a solução automaticamente
+     *
+     * @param avaliacao Payload com nota e comentário
+     * @param solucaoId ID da solução avaliada (Query Param)
+     * @throws RuntimeException se a nota for inválida ou a solução não existir
+     */
     @PostMapping
     public Avaliacao avaliar(@RequestBody Avaliacao avaliacao, @RequestParam Long solucaoId) {
-        // 1. Busca a solucao que esta sendo avaliada
-        Solucao solucao = solucaoRepository.findById(solucaoId)
-                .orElseThrow(() -> new RuntimeException("Solução não encontrada!"));
-
-        // 2. Amarra a avaliacao na solucao
-        avaliacao.setSolucao(solucao);
-
-        /**
-         * REGRA DE NEGOCIO
-         * Se a nota for 5, aprova a solucao automaticamente
-         */
-        if (avaliacao.getNota() == 5) {
-            solucao.setStatus("APROVADO");
-            solucaoRepository.save(solucao);
-        }
+        return avaliacaoService.avaliar(avaliacao, solucaoId);
+    }
 
-        return avaliacaoRepository.save(avaliacao);
+    /**
+     * Registra várias avaliações de uma vez
+     * Cada item é validado separadamente; os inválidos voltam com o motivo e os demais são gravados
+     *
+     * @param itens Lista com solucaoId, nota e comentário de cada avaliação
+     * @return Resultado de cada item, na ordem enviada
+     * @throws RuntimeException se o lote estiver vazio ou passar do tamanho máximo
+     */
+    @PostMapping("/batch")
+    public ResultadoLote avaliarLote(@RequestBody List<ItemLoteAvaliacao> itens) {
+        return avaliacaoService.avaliarLote(itens);
     }
 }
@@ -1,18 +1,30 @@
 package br.com.devforge.controller;
 
+import br.com.devforge.dto.FacetasCatalogo;
+import br.com.devforge.dto.PaginaBusca;
 import br.com.devforge.model.Desafio;
 import br.com.devforge.repository.DesafioRepository;
-import br.com.devforge.service.ModeracaoService;
+import br.com.devforge.service.CatalogoService;
+import br.com.devforge.service.FilaModeracaoService;
+import br.com.devforge.service.StreamingJsonService;
+import br.com.devforge.service.VersaoRecursosService;
+import br.com.devforge.service.busca.BuscaDesafiosService;
+import br.com.devforge.service.busca.IndiceTagsService;
+import br.com.devforge.service.busca.ModoCombinacao;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controlador REST responsável pelos endpoints de Desafios.
- * Gerencia a listagem pública e a criação de novos desafios, integrando com o serviço de moderação.
+ * Gerencia a listagem pública e a criação de novos desafios, integrando com a fila de moderação.
  */
 @RestController
 @RequestMapping("/desafios")
@@ -22,57 +34,169 @@ public class DesafioController {
     private DesafioRepository repository;
 
     @Autowired
-    private ModeracaoService moderacaoService;
+    private FilaModeracaoService filaModeracaoService;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private BuscaDesafiosService buscaDesafiosService;
+
+    @Autowired
+    private IndiceTagsService indiceTagsService;
+
+    @Autowired
+    private VersaoRecursosService versaoRecursosService;
+
+    @Autowired
+    private StreamingJsonService streamingJsonService;
 
     /**
-     * Lista os desafios disponíveis na plataforma.
+     * Lista os desafios disponíveis na plataforma, paginados por cursor.
      * <p>
      * Regra de Negócio: Retorna apenas desafios com status 'APROVADO'.
      * Conteúdo pendente ou rejeitado é invisível para a listagem pública.
+     * Todos os filtros são feitos no banco; a resposta traz o cursor da próxima página.
+     * A página é servida do snapshot JSON do {@link CatalogoService} enquanto estiver válida.
+     * A resposta leva um ETag com a versão do catálogo: se nada mudou desde o último polling
+     * ({@code If-None-Match}), responde 304 sem montar a página.
      * </p>
      *
      * @param nivel (Opcional) Filtra por nível de senioridade (JUNIOR, PLENO, SENIOR).
-     * @return Lista de desafios aprovados.
+     * @param stack (Opcional) Filtra por tecnologia da stack; pode repetir (ex: {@code stack=java&stack=docker}).
+     * @param modo  AND (padrão) exige todas as tecnologias; OR aceita qualquer uma.
+     * @param after (Opcional) Cursor devolvido pela página anterior (último ID recebido).
+     * @param limit Tamanho da página (padrão 20, máximo {@value CatalogoService#LIMITE_MAXIMO}).
+     * @return JSON da página (resumos dos desafios aprovados) e o cursor da próxima página.
      */
     @GetMapping
-    public List<Desafio> listar(@RequestParam(required = false) String nivel) {
-        List<Desafio> todosDesafios = repository.findAll();
-
-        // Filtra na memória (Stream) para garantir que apenas APROVADOS sejam exibidos
-        // Nota: Em produção com muitos dados, idealmente faríamos isso com uma Query no Repository (findByStatusAndNivel)
-        return todosDesafios.stream()
-                .filter(d -> "APROVADO".equals(d.getStatus())) // Regra de segurança: Só mostra aprovados
-                .filter(d -> nivel == null || d.getNivel().equalsIgnoreCase(nivel)) // Filtro opcional de nível
-                .collect(Collectors.toList());
+    public ResponseEntity<byte[]> listar(@RequestParam(required = false) String nivel,
+                                         @RequestParam(required = false) List<String> stack,
+                                         @RequestParam(defaultValue = "AND") ModoCombinacao modo,
+                                         @RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "20") int limit,
+                                         WebRequest request) {
+        if (request.checkNotModified(versaoRecursosService.etagCatalogo())) {
+            return naoModificado();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(versaoRecursosService.cacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalogoService.listarJson(nivel, stack, modo, after, limit));
+    }
+
+    /**
+     * Exporta o catálogo inteiro (resumos de todos os desafios aprovados, por ID) num único array JSON.
+     * <p>
+     * As linhas saem do cursor do banco direto para a resposta, em blocos, sem montar a lista em memória;
+     * o consumo de heap não depende do tamanho do catálogo. Usa o mesmo ETag da listagem.
+     * </p>
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> exportar(WebRequest request) {
+        if (request.checkNotModified(versaoRecursosService.etagCatalogo())) {
+            return naoModificado();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(versaoRecursosService.cacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamingJsonService.array(() -> repository.streamResumos("APROVADO")));
+    }
+
+    /**
+     * Contagem de desafios aprovados por tecnologia e por nível, para montar os filtros do catálogo.
+     * Com filtros, as contagens são dentro da seleção atual (ex: quantos desafios JUNIOR usam Docker).
+     * Calculada no índice de tags em memória, sem consulta ao banco.
+     *
+     * @param nivel (Opcional) Nível selecionado.
+     * @param stack (Opcional) Tecnologias selecionadas.
+     * @param modo  AND (padrão) ou OR entre as tecnologias selecionadas.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<FacetasCatalogo> facetas(@RequestParam(required = false) String nivel,
+                                                   @RequestParam(required = false) List<String> stack,
+                                                   @RequestParam(defaultValue = "AND") ModoCombinacao modo,
+                                                   WebRequest request) {
+        if (request.checkNotModified(versaoRecursosService.etagCatalogo())) {
+            return naoModificado();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(versaoRecursosService.cacheControl())
+                .body(indiceTagsService.facetas(stack, modo, nivel));
+    }
+
+    /**
+     * Busca desafios aprovados por palavra-chave no título, stack, nível, contexto e requisitos.
+     * <p>
+     * Ignora acentos e maiúsculas, aceita palavras incompletas (ex: "micros") e ordena pela relevância.
+     * Servida pelo índice em memória do {@link BuscaDesafiosService}, sem consulta ao banco.
+     * </p>
+     *
+     * @param q       Texto da busca (ex: "api pagamentos spring").
+     * @param pagina  Número da página (começa em 0).
+     * @param tamanho Itens por página (padrão 20, máximo {@value BuscaDesafiosService#TAMANHO_MAXIMO}).
+     * @return Resumos dos desafios encontrados, com a relevância de cada um, e o total encontrado.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PaginaBusca> buscar(@RequestParam String q,
+                                              @RequestParam(defaultValue = "0") int pagina,
+                                              @RequestParam(defaultValue = "20") int tamanho,
+                                              WebRequest request) {
+        if (request.checkNotModified(versaoRecursosService.etagCatalogo())) {
+            return naoModificado();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(versaoRecursosService.cacheControl())
+                .body(buscaDesafiosService.buscar(q, pagina, tamanho));
+    }
+
+    /**
+     * Retorna o briefing completo de um desafio aprovado (contexto e requisitos).
+     * A listagem só traz o resumo do card; o detalhe é carregado quando o usuário abre o desafio.
+     *
+     * @param id ID do desafio.
+     * @throws RuntimeException se o desafio não existir ou ainda não estiver aprovado.
+     */
+    @GetMapping("/{id}")
+    public Desafio detalhar(@PathVariable Long id) {
+        return repository.findByIdAndStatus(id, "APROVADO")
+                .orElseThrow(() -> new RuntimeException("Desafio não encontrado! ID inválido: " + id));
     }
 
     /**
      * Cria um novo desafio proposto por um usuário.
      * <p>
-     * O desafio passa pelo {@link ModeracaoService} para análise automática de conteúdo.
-     * Se aprovado, o status é definido como APROVADO imediatamente.
-     * Caso contrário, permanece como PENDENTE para revisão humana.
+     * O desafio é salvo na hora como PENDENTE e entra na fila do {@link FilaModeracaoService},
+     * que faz a análise automática de conteúdo em segundo plano. Se aprovado, o status passa
+     * para APROVADO em instantes. Caso contrário, permanece como PENDENTE para revisão humana.
      * </p>
      *
      * @param desafio Payload contendo os dados do desafio.
-     * @return O desafio salvo com o status atualizado.
+     * @return O desafio salvo (status PENDENTE até a moderação concluir).
      */
     @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public Desafio criar(@RequestBody @Valid Desafio desafio) {
-        // 1. Executa a moderação automática (Detector de SPAM/Ofensas)
-        boolean isConteudoSeguro = moderacaoService.isConteudoSeguro(desafio);
-
-        if (isConteudoSeguro) {
-            // Caminho Feliz: Conteúdo limpo, aprovação instantânea 🚀
-            desafio.setStatus("APROVADO");
-        } else {
-            // Caminho de Exceção: Conteúdo suspeito, retém para moderação humana 🛡️
-            desafio.setStatus("PENDENTE");
-        }
+        // Todo desafio nasce pendente; a moderação automática (Detector de SPAM/Ofensas) roda fora da requisição
+        desafio.setStatus("PENDENTE");
+        desafio.setModeradoEm(null);
 
         // TODO: Futuramente, aqui pegaremos o usuário logado para setar o criador:
         // desafio.setCriador(usuarioLogado);
 
-        return repository.save(desafio);
+        Desafio salvo = repository.save(desafio);
+        // Pendente não aparece no catálogo: nada a invalidar. Quem avisa os caches é a fila, ao aprovar
+        filaModeracaoService.enfileirar(salvo);
+        return salvo;
+    }
+
+    /**
+     * Resposta 304: o ETag já foi gravado pelo {@code checkNotModified}; o Cache-Control é repetido
+     * para o cache do cliente renovar o prazo.
+     */
+    private <T> ResponseEntity<T> naoModificado() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(versaoRecursosService.cacheControl())
+                .build();
     }
-}
\ No newline at end of file
+}
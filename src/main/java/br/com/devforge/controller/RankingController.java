@@ -0,0 +1,65 @@
+package br.com.devforge.controller;
+
+import br.com.devforge.dto.PosicaoRanking;
+import br.com.devforge.dto.RankingUsuario;
+import br.com.devforge.service.ranking.FaixaNivel;
+import br.com.devforge.service.ranking.RankingXpService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST do ranking de XP (leaderboard).
+ * Tudo é respondido do índice em memória do {@link RankingXpService}, sem consultar o banco.
+ */
+@RestController
+@RequestMapping("/ranking")
+public class RankingController {
+
+    @Autowired
+    private RankingXpService rankingXpService;
+
+    /**
+     * Lista os primeiros colocados do ranking global.
+     *
+     * @param limite Quantidade de usuários (padrão 10, máximo {@value RankingXpService#LIMITE_MAXIMO}).
+     */
+    @GetMapping
+    public List<PosicaoRanking> top(@RequestParam(defaultValue = "10") int limite) {
+        return rankingXpService.top(limite);
+    }
+
+    /**
+     * Lista os primeiros colocados de uma faixa de nível, com a posição dentro da faixa.
+     *
+     * @param faixa  INICIANTE, JUNIOR, PLENO ou SENIOR.
+     * @param limite Quantidade de usuários (padrão 10, máximo {@value RankingXpService#LIMITE_MAXIMO}).
+     * @throws RuntimeException se a faixa não existir.
+     */
+    @GetMapping("/faixas/{faixa}")
+    public List<PosicaoRanking> topDaFaixa(@PathVariable String faixa, @RequestParam(defaultValue = "10") int limite) {
+        return rankingXpService.topDaFaixa(faixaDe(faixa), limite);
+    }
+
+    /**
+     * Mostra a posição de um usuário (global e na faixa) e quem está logo acima e logo abaixo dele.
+     *
+     * @param id       ID do usuário.
+     * @param vizinhos Usuários de cada lado (padrão 5, máximo {@value RankingXpService#VIZINHOS_MAXIMO}).
+     * @throws RuntimeException se o usuário não estiver no ranking.
+     */
+    @GetMapping("/usuarios/{id}")
+    public RankingUsuario doUsuario(@PathVariable Long id, @RequestParam(defaultValue = "5") int vizinhos) {
+        return rankingXpService.doUsuario(id, vizinhos)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado no ranking! ID inválido: " + id));
+    }
+
+    private static FaixaNivel faixaDe(String faixa) {
+        try {
+            return FaixaNivel.valueOf(faixa.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Faixa de nível não encontrada! Use INICIANTE, JUNIOR, PLENO ou SENIOR: " + faixa);
+        }
+    }
+}
@@ -1,44 +1,157 @@
 package br.com.devforge.controller;
 
-import br.com.devforge.model.Desafio;
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.dto.ItemLoteSolucao;
+import br.com.devforge.dto.PaginaSolucoes;
+import br.com.devforge.dto.ResultadoLote;
+import br.com.devforge.dto.SolucaoResumo;
 import br.com.devforge.model.Solucao;
 import br.com.devforge.repository.DesafioRepository;
 import br.com.devforge.repository.SolucaoRepository;
+import br.com.devforge.service.SolucaoService;
+import br.com.devforge.service.StreamingJsonService;
+import br.com.devforge.service.VersaoRecursosService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/solucoes")
 public class SolucaoController {
 
+    private static final int TAMANHO_MAXIMO = 100;
+    // Campo aceito em ?ordenarPor= -> propriedade da entidade
+    private static final Map<String, String> CAMPOS_ORDENACAO = Map.of(
+            "dataEnvio", "dataEnvio",
+            "status", "status",
+            "media", "avaliacoes.media");
+
     @Autowired
     private SolucaoRepository solucaoRepository;
 
     @Autowired
     private DesafioRepository desafioRepository;
 
+    @Autowired
+    private SolucaoService solucaoService;
+
+    @Autowired
+    private VersaoRecursosService versaoRecursosService;
+
+    @Autowired
+    private StreamingJsonService streamingJsonService;
+
     /**
      * Registra uma nova solucao para um desafio existente
      * Valida se o desafio existe antes de salvar para manter a integridade referencial
      *
      * @param solucao Payload com dados do autor e link
      * @param desafioId ID do desafio ao qual a solucao percente (Query Param)
-     * @throws RuntimeException se o desafioId nao for encontrado no banco
+     * @throws RuntimeException se o link estiver vazio ou o desafioId nao for encontrado no banco
      */
     @PostMapping
     public Solucao enviarSolucao(@RequestBody Solucao solucao, @RequestParam Long desafioId) {
-        Desafio desafio = desafioRepository.findById(desafioId)
-                .orElseThrow(() -> new RuntimeException("Desafio não encontrado! ID inválido: " + desafioId));
+        return solucaoService.enviar(solucao, desafioId);
+    }
 
-        solucao.setDesafio(desafio);
-        return solucaoRepository.save(solucao);
+    /**
+     * Registra várias soluções de uma vez (ex: importação de uma turma)
+     * Cada item é validado separadamente; os inválidos voltam com o motivo e os demais são gravados
+     *
+     * @param itens Lista com desafioId, nomeAutor e linkRepositorio de cada solução
+     * @return Resultado de cada item, na ordem enviada
+     * @throws RuntimeException se o lote estiver vazio ou passar do tamanho máximo
+     */
+    @PostMapping("/batch")
+    public ResultadoLote enviarLote(@RequestBody List<ItemLoteSolucao> itens) {
+        return solucaoService.enviarLote(itens);
     }
 
-    // 2. Listar Soluções
+    /**
+     * Lista as soluções de um desafio, paginadas e ordenadas
+     * O desafio vem uma única vez no topo da resposta, e cada item traz só os dados da solução
+     * A resposta leva um ETag com a versão da lista: se nada mudou desde o último polling
+     * ({@code If-None-Match}), responde 304 sem consultar o banco
+     *
+     * @param desafioId ID do desafio
+     * @param pagina Número da página (começa em 0)
+     * @param tamanho Itens por página (máximo {@value #TAMANHO_MAXIMO})
+     * @param ordenarPor Campo de ordenação: dataEnvio, status ou media (melhor avaliadas)
+     * @param direcao asc ou desc
+     * @throws RuntimeException se o desafioId nao for encontrado no banco
+     */
     @GetMapping
-    public List<Solucao> listarPorDesafio(@RequestParam Long desafioId) {
-        return solucaoRepository.findByDesafioId(desafioId);
+    public ResponseEntity<PaginaSolucoes> listarPorDesafio(@RequestParam Long desafioId,
+                                                           @RequestParam(defaultValue = "0") int pagina,
+                                                           @RequestParam(defaultValue = "20") int tamanho,
+                                                           @RequestParam(defaultValue = "dataEnvio") String ordenarPor,
+                                                           @RequestParam(defaultValue = "desc") String direcao,
+                                                           WebRequest request) {
+        // A versão é lida ANTES da consulta: uma escrita no meio só faz o cliente buscar de novo depois
+        if (request.checkNotModified(versaoRecursosService.etagSolucoes(desafioId))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(versaoRecursosService.cacheControl())
+                    .build();
+        }
+
+        DesafioResumo desafio = desafioRepository.buscarResumo(desafioId)
+                .orElseThrow(() -> new RuntimeException("Desafio não encontrado! ID inválido: " + desafioId));
+
+        String propriedade = CAMPOS_ORDENACAO.get(ordenarPor);
+        if (propriedade == null) {
+            throw new RuntimeException("Ordenação inválida: " + ordenarPor + ". Use um destes: " + CAMPOS_ORDENACAO.keySet());
+        }
+        Sort.Direction sentido = Sort.Direction.fromOptionalString(direcao).orElse(Sort.Direction.DESC);
+        // Solução sem avaliação (média nula) conta como a menor: fim na ordem decrescente, início na crescente
+        Sort.Order campo = new Sort.Order(sentido, propriedade);
+        Sort ordem = Sort.by(sentido.isDescending() ? campo.nullsLast() : campo.nullsFirst());
+        if ("media".equals(ordenarPor)) {
+            // Na mesma média, quem tem mais avaliações vem primeiro
+            ordem = ordem.and(Sort.by(Sort.Direction.DESC, "avaliacoes.quantidade"));
+        }
+        // O ID desempata a ordenação para a paginação ser estável
+        ordem = ordem.and(Sort.by(Sort.Direction.DESC, "id"));
+        Pageable pageable = PageRequest.of(Math.max(pagina, 0), Math.clamp(tamanho, 1, TAMANHO_MAXIMO), ordem);
+
+        Page<SolucaoResumo> solucoes = solucaoRepository.buscarPorDesafio(desafioId, pageable);
+        return ResponseEntity.ok()
+                .cacheControl(versaoRecursosService.cacheControl())
+                .body(new PaginaSolucoes(desafio, solucoes.getContent(), solucoes.getNumber(), solucoes.getSize(),
+                        solucoes.getTotalElements(), solucoes.getTotalPages()));
+    }
+
+    /**
+     * Exporta todas as soluções de um desafio (da mais recente para a mais antiga) num único array JSON
+     * As linhas saem do cursor do banco direto para a resposta, em blocos, sem montar a lista em memória
+     * Usa o mesmo ETag da listagem paginada
+     *
+     * @param desafioId ID do desafio
+     * @throws RuntimeException se o desafioId nao for encontrado no banco
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> exportarPorDesafio(@RequestParam Long desafioId, WebRequest request) {
+        if (request.checkNotModified(versaoRecursosService.etagSolucoes(desafioId))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(versaoRecursosService.cacheControl())
+                    .build();
+        }
+        if (!desafioRepository.existsById(desafioId)) {
+            throw new RuntimeException("Desafio não encontrado! ID inválido: " + desafioId);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(versaoRecursosService.cacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(streamingJsonService.array(() -> solucaoRepository.streamPorDesafio(desafioId)));
     }
 }
@@ -1,11 +1,18 @@
 package br.com.devforge.controller;
 
+import br.com.devforge.dto.UsuarioSnapshot;
 import br.com.devforge.model.Usuario;
 import br.com.devforge.repository.UsuarioRepository;
+import br.com.devforge.service.UsuarioCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -16,21 +23,43 @@ public class UserController {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private UsuarioCacheService usuarioCacheService;
+
+    // Perfil é dado pessoal: só o navegador guarda, e sempre revalida com o ETag antes de usar
+    private static final CacheControl CACHE_PERFIL = CacheControl.noCache().cachePrivate();
+
     /**
      * Endpoint "Quem sou eu?"
      * Chamado pelo Frontend para pegar os dados do usuário logado (XP, Nível, Avatar).
+     * <p>
+     * Os dados vêm do cache de identidade ({@link UsuarioCacheService}) e a resposta leva um ETag.
+     * Se o perfil não mudou desde o último polling ({@code If-None-Match}), responde 304 sem corpo e sem consultar o banco.
+     * O {@code Cache-Control: no-cache, private} impede proxies e CDNs de guardarem o perfil.
+     * </p>
      */
     @GetMapping("/me")
-    public Usuario getCurrentUser(@AuthenticationPrincipal OAuth2User principal) {
+    public ResponseEntity<UsuarioSnapshot> getCurrentUser(@AuthenticationPrincipal OAuth2User principal, WebRequest request) {
         if (principal == null) {
-            return null; // Frontend trata isso como não logado
+            return ResponseEntity.ok().build(); // Frontend trata isso como não logado
         }
 
         String email = getEmailFromPrincipal(principal);
 
-        // Busca os dados ATUALIZADOS do banco (com XP e Nível)
-        return usuarioRepository.findByEmail(email)
+        // Dados ATUALIZADOS (com XP e Nível): o cache é atualizado a cada gravação do usuário
+        UsuarioSnapshot usuario = usuarioCacheService.buscarPorEmail(email)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado no banco local"));
+
+        String etag = usuario.getEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CACHE_PERFIL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_PERFIL)
+                .eTag(etag)
+                .body(usuario);
     }
 
     /**
@@ -41,6 +70,7 @@ public class UserController {
      * @param principal Usuário logado via OAuth2
      */
     @PostMapping("/complete-onboarding")
+    @Transactional // Lê e grava no primário: uma réplica atrasada devolveria um perfil velho para sobrescrever
     public Usuario completeOnboarding(@RequestBody Map<String, String> payload, @AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) {
             throw new RuntimeException("Não autenticado");
@@ -68,6 +98,7 @@ public class UserController {
      * ESTE É O MÉTODO QUE O SEU FRONTEND ESTÁ CHAMANDO AGORA.
      */
     @PutMapping("/{id}")
+    @Transactional
     public Usuario updateUser(@PathVariable Long id, @RequestBody Usuario dadosAtualizados, @AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) {
             throw new RuntimeException("Não autenticado");
@@ -104,9 +135,9 @@ public class UserController {
 
     /**
      * Método auxiliar para extrair o email do principal (Google ou GitHub).
-     * Centraliza a lógica de fallback para evitar duplicação.
+     * Centraliza a lógica de fallback para evitar duplicação (também usado pelo {@link XpController}).
      */
-    private String getEmailFromPrincipal(OAuth2User principal) {
+    static String getEmailFromPrincipal(OAuth2User principal) {
         Map<String, Object> attributes = principal.getAttributes();
         String email = (String) attributes.get("email");
 
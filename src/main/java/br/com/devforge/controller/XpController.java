@@ -0,0 +1,96 @@
+package br.com.devforge.controller;
+
+import br.com.devforge.config.security.Administradores;
+import br.com.devforge.dto.AuditoriaXp;
+import br.com.devforge.dto.PaginaCursor;
+import br.com.devforge.dto.UsuarioSnapshot;
+import br.com.devforge.model.EventoXp;
+import br.com.devforge.repository.EventoXpRepository;
+import br.com.devforge.service.UsuarioCacheService;
+import br.com.devforge.service.XpService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST do ledger de XP: extrato, auditoria e replay.
+ * O XP em si é concedido pelos fluxos de negócio através do {@link XpService}.
+ * <p>
+ * Extrato e auditoria só mostram o próprio XP (administradores veem o de qualquer usuário);
+ * o replay é só para administradores ({@code auth.admins}), regra aplicada no {@code SecurityConfig}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/xp")
+public class XpController {
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    private XpService xpService;
+
+    @Autowired
+    private EventoXpRepository eventoXpRepository;
+
+    @Autowired
+    private UsuarioCacheService usuarioCacheService;
+
+    /**
+     * Extrato de XP de um usuário, do lançamento mais novo para o mais antigo.
+     *
+     * @param id     ID do usuário.
+     * @param after (Opcional) Cursor devolvido pela página anterior (último ID recebido).
+     * @param limit  Tamanho da página (padrão 20, máximo {@value #LIMITE_MAXIMO}).
+     */
+    @GetMapping("/usuarios/{id}/extrato")
+    public PaginaCursor<EventoXp> extrato(@PathVariable Long id,
+                                          @RequestParam(required = false) Long after,
+                                          @RequestParam(defaultValue = "20") int limit,
+                                          @AuthenticationPrincipal OAuth2User principal) {
+        verificarAcesso(id, principal);
+        int limite = Math.clamp(limit, 1, LIMITE_MAXIMO);
+        List<EventoXp> eventos = eventoXpRepository.findByUsuarioIdAndIdLessThanOrderByIdDesc(
+                id, after == null ? Long.MAX_VALUE : after, Limit.of(limite + 1));
+        return PaginaCursor.de(eventos, limite, EventoXp::getId);
+    }
+
+    /**
+     * Compara o XP do usuário com a soma do ledger, sem alterar nada.
+     */
+    @GetMapping("/usuarios/{id}/auditoria")
+    public AuditoriaXp auditoria(@PathVariable Long id, @AuthenticationPrincipal OAuth2User principal) {
+        verificarAcesso(id, principal);
+        return xpService.auditar(id);
+    }
+
+    /**
+     * Reconstrói o XP e o nível do usuário a partir do ledger.
+     */
+    @PostMapping("/usuarios/{id}/replay")
+    public AuditoriaXp replay(@PathVariable Long id) {
+        return xpService.replay(id);
+    }
+
+    /**
+     * Garante que o usuário logado é o dono do XP consultado, ou um administrador.
+     *
+     * @throws AccessDeniedException (403) se for o XP de outro usuário.
+     */
+    private void verificarAcesso(Long id, OAuth2User principal) {
+        if (Administradores.isAdmin(principal)) {
+            return;
+        }
+        Long idLogado = principal == null ? null : usuarioCacheService
+                .buscarPorEmail(UserController.getEmailFromPrincipal(principal))
+                .map(UsuarioSnapshot::id)
+                .orElse(null);
+        if (!id.equals(idLogado)) {
+            throw new AccessDeniedException("Acesso negado: você só pode consultar o seu próprio XP.");
+        }
+    }
+}
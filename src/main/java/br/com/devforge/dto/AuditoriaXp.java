@@ -0,0 +1,16 @@
+package br.com.devforge.dto;
+
+/**
+ * Comparação entre o XP gravado no usuário e o que o ledger diz que ele deveria ter.
+ *
+ * @param xpAtual    {@code xpTotal} gravado no usuário.
+ * @param xpNoLedger Soma dos lançamentos já aplicados.
+ * @param xpPendente Soma dos lançamentos que o agregador ainda vai aplicar.
+ * @param divergente {@code true} se {@code xpAtual} difere de {@code xpNoLedger}.
+ */
+public record AuditoriaXp(Long usuarioId, int xpAtual, long xpNoLedger, long xpPendente, boolean divergente) {
+
+    public static AuditoriaXp de(Long usuarioId, int xpAtual, long xpNoLedger, long xpPendente) {
+        return new AuditoriaXp(usuarioId, xpAtual, xpNoLedger, xpPendente, xpAtual != xpNoLedger);
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.devforge.dto;
+
+import br.com.devforge.model.Desafio;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de um {@link Desafio} com os campos indexados pela busca textual.
+ * <p>
+ * Usada na carga do índice em stream: traz o texto do briefing sem montar entidades
+ * gerenciadas (nada fica no contexto de persistência durante a varredura).
+ * </p>
+ */
+public record DesafioDocumento(Long id, String titulo, String nivel, String stack, LocalDate dataCriacao,
+                               String contexto, String requisitosFuncionais, String requisitosTecnicos) {
+
+    public static DesafioDocumento de(Desafio desafio) {
+        return new DesafioDocumento(desafio.getId(), desafio.getTitulo(), desafio.getNivel(), desafio.getStack(),
+                desafio.getDataCriacao(), desafio.getContexto(), desafio.getRequisitosFuncionais(),
+                desafio.getRequisitosTecnicos());
+    }
+
+    /**
+     * @return Só as colunas do card, devolvidas nos resultados da busca.
+     */
+    public DesafioResumo resumo() {
+        return new DesafioResumo(id, titulo, nivel, stack, dataCriacao);
+    }
+}
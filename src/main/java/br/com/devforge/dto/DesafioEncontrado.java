@@ -0,0 +1,7 @@
+package br.com.devforge.dto;
+
+/**
+ * Um desafio retornado pela busca textual, com a relevância calculada para a consulta.
+ */
+public record DesafioEncontrado(DesafioResumo desafio, double relevancia) {
+}
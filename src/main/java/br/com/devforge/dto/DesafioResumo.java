@@ -0,0 +1,13 @@
+package br.com.devforge.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção leve de um {@link br.com.devforge.model.Desafio} para os cards da listagem.
+ * <p>
+ * Carrega só as colunas exibidas no card. Os campos TEXT do briefing (contexto e requisitos)
+ * ficam de fora e só são lidos em {@code GET /desafios/{id}}.
+ * </p>
+ */
+public record DesafioResumo(Long id, String titulo, String nivel, String stack, LocalDate dataCriacao) {
+}
@@ -0,0 +1,8 @@
+package br.com.devforge.dto;
+
+/**
+ * Dados de um usuário guardados no índice do ranking de XP.
+ * Também é a projeção usada na varredura do banco que monta o índice no startup.
+ */
+public record EntradaRanking(Long usuarioId, String nome, String avatarUrl, Integer xpTotal, String nivel) {
+}
@@ -0,0 +1,7 @@
+package br.com.devforge.dto;
+
+/**
+ * Um valor de faceta do catálogo (tecnologia ou nível) e quantos desafios aprovados o usam.
+ */
+public record Faceta(String valor, int quantidade) {
+}
@@ -0,0 +1,14 @@
+package br.com.devforge.dto;
+
+import java.util.List;
+
+/**
+ * Contagens do catálogo por tecnologia e por nível ({@code GET /desafios/facets}),
+ * calculadas sobre os desafios que atendem aos filtros informados.
+ *
+ * @param total  Quantidade de desafios que atendem aos filtros.
+ * @param stacks Tecnologias, da mais usada para a menos usada.
+ * @param niveis Níveis, do mais comum para o menos comum.
+ */
+public record FacetasCatalogo(int total, List<Faceta> stacks, List<Faceta> niveis) {
+}
@@ -0,0 +1,7 @@
+package br.com.devforge.dto;
+
+/**
+ * Uma avaliação dentro de um envio em lote ({@code POST /avaliacoes/batch}).
+ */
+public record ItemLoteAvaliacao(Long solucaoId, Integer nota, String comentario) {
+}
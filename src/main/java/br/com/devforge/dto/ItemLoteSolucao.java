@@ -0,0 +1,7 @@
+package br.com.devforge.dto;
+
+/**
+ * Uma solução dentro de um envio em lote ({@code POST /solucoes/batch}).
+ */
+public record ItemLoteSolucao(Long desafioId, String nomeAutor, String linkRepositorio) {
+}
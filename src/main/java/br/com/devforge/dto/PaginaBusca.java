@@ -0,0 +1,15 @@
+package br.com.devforge.dto;
+
+import java.util.List;
+
+/**
+ * Uma página da busca textual de desafios, do mais relevante para o menos relevante.
+ *
+ * @param q          A consulta recebida.
+ * @param itens      Desafios encontrados nesta página.
+ * @param pagina     Número da página (começa em 0).
+ * @param tamanho    Itens por página.
+ * @param totalItens Quantidade de desafios que atendem à consulta.
+ */
+public record PaginaBusca(String q, List<DesafioEncontrado> itens, int pagina, int tamanho, int totalItens) {
+}
@@ -0,0 +1,36 @@
+package br.com.devforge.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por cursor (keyset).
+ * <p>
+ * Em vez de OFFSET, o cliente envia o último ID recebido ({@code after}) e o banco
+ * continua a partir dele usando o índice da chave primária. O custo de cada página
+ * é o mesmo, não importa quantas linhas a tabela tenha.
+ * </p>
+ *
+ * @param itens         Itens da página atual.
+ * @param proximoCursor Valor a ser enviado em {@code ?after=} para buscar a próxima página,
+ *                      ou {@code null} se esta for a última.
+ * @param <T>           Tipo dos itens.
+ */
+public record PaginaCursor<T>(List<T> itens, Long proximoCursor) {
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code limite + 1} linhas.
+     * A linha extra só serve para saber se existe uma próxima página e é descartada.
+     *
+     * @param resultado Linhas retornadas pelo banco (no máximo {@code limite + 1}).
+     * @param limite    Tamanho da página solicitado.
+     * @param chave     Extrai a chave de ordenação (ID) de um item.
+     */
+    public static <T> PaginaCursor<T> de(List<T> resultado, int limite, Function<T, Long> chave) {
+        if (resultado.size() <= limite) {
+            return new PaginaCursor<>(resultado, null);
+        }
+        List<T> itens = resultado.subList(0, limite);
+        return new PaginaCursor<>(List.copyOf(itens), chave.apply(itens.get(limite - 1)));
+    }
+}
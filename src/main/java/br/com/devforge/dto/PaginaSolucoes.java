@@ -0,0 +1,17 @@
+package br.com.devforge.dto;
+
+import java.util.List;
+
+/**
+ * Página de soluções de um desafio.
+ *
+ * @param desafio      Resumo do desafio (enviado uma vez, não repetido em cada item).
+ * @param itens        Soluções da página atual.
+ * @param pagina       Número da página (começa em 0).
+ * @param tamanho      Tamanho da página.
+ * @param totalItens   Total de soluções do desafio.
+ * @param totalPaginas Total de páginas.
+ */
+public record PaginaSolucoes(DesafioResumo desafio, List<SolucaoResumo> itens, int pagina, int tamanho,
+                             long totalItens, int totalPaginas) {
+}
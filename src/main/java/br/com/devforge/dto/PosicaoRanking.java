@@ -0,0 +1,12 @@
+package br.com.devforge.dto;
+
+/**
+ * Um usuário e sua posição no ranking de XP (1 = primeiro lugar).
+ */
+public record PosicaoRanking(int posicao, Long usuarioId, String nome, String avatarUrl, Integer xpTotal, String nivel) {
+
+    public static PosicaoRanking de(int posicao, EntradaRanking entrada) {
+        return new PosicaoRanking(posicao, entrada.usuarioId(), entrada.nome(), entrada.avatarUrl(),
+                entrada.xpTotal(), entrada.nivel());
+    }
+}
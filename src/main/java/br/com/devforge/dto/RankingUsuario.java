@@ -0,0 +1,15 @@
+package br.com.devforge.dto;
+
+import java.util.List;
+
+/**
+ * Situação de um usuário no ranking: posição global, posição dentro da faixa de nível
+ * e os usuários imediatamente acima e abaixo dele.
+ *
+ * @param usuario        Posição global do usuário.
+ * @param faixa          Faixa de nível (INICIANTE, JUNIOR, PLENO, SENIOR).
+ * @param posicaoNaFaixa Posição entre os usuários da mesma faixa.
+ * @param vizinhos       Usuários ao redor (inclui o próprio), em ordem de posição.
+ */
+public record RankingUsuario(PosicaoRanking usuario, String faixa, int posicaoNaFaixa, List<PosicaoRanking> vizinhos) {
+}
@@ -0,0 +1,20 @@
+package br.com.devforge.dto;
+
+/**
+ * Resultado de um item de um envio em lote.
+ *
+ * @param indice  Posição do item no array enviado (começa em 0).
+ * @param sucesso {@code true} se o item foi gravado.
+ * @param id      ID gerado, se gravado.
+ * @param erro    Motivo da rejeição, se não gravado.
+ */
+public record ResultadoItemLote(int indice, boolean sucesso, Long id, String erro) {
+
+    public static ResultadoItemLote gravado(int indice, Long id) {
+        return new ResultadoItemLote(indice, true, id, null);
+    }
+
+    public static ResultadoItemLote rejeitado(int indice, String erro) {
+        return new ResultadoItemLote(indice, false, null, erro);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.devforge.dto;
+
+import java.util.List;
+
+/**
+ * Resposta de um envio em lote: cada item tem o próprio resultado, na mesma ordem do envio.
+ * Itens inválidos são rejeitados sem impedir a gravação dos demais.
+ */
+public record ResultadoLote(int recebidos, int gravados, List<ResultadoItemLote> itens) {
+
+    public static ResultadoLote de(List<ResultadoItemLote> itens) {
+        int gravados = (int) itens.stream().filter(ResultadoItemLote::sucesso).count();
+        return new ResultadoLote(itens.size(), gravados, itens);
+    }
+}
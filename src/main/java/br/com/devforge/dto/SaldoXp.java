@@ -0,0 +1,7 @@
+package br.com.devforge.dto;
+
+/**
+ * XP e nível de um usuário logo depois de o agregador do ledger aplicar um lote.
+ */
+public record SaldoXp(Long usuarioId, String email, Integer xpTotal, String nivel) {
+}
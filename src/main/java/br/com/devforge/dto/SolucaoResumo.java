@@ -0,0 +1,14 @@
+package br.com.devforge.dto;
+
+import br.com.devforge.model.AgregadoAvaliacoes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item da listagem de soluções de um desafio.
+ * Não carrega o {@link br.com.devforge.model.Desafio} pai, que vai uma única vez no topo da resposta.
+ * As avaliações vêm só como totais (quantidade, média e histograma), sem carregar cada avaliação.
+ */
+public record SolucaoResumo(Long id, String nomeAutor, String linkRepositorio, String status, LocalDateTime dataEnvio,
+                            AgregadoAvaliacoes avaliacoes) {
+}
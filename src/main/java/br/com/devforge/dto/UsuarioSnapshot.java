@@ -0,0 +1,50 @@
+package br.com.devforge.dto;
+
+import br.com.devforge.model.Usuario;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * Cópia imutável de um {@link Usuario}, guardada no cache de identidade.
+ * Serializa com os mesmos campos da entidade, então o frontend não percebe a diferença.
+ */
+public record UsuarioSnapshot(long id,
+                              String nome,
+                              String email,
+                              String avatarUrl,
+                              String bio,
+                              String localizacao,
+                              String githubUsername,
+                              LocalDateTime dataCadastro,
+                              boolean cadastroCompleto,
+                              Integer xpTotal,
+                              String nivel) {
+
+    public static UsuarioSnapshot de(Usuario usuario) {
+        return new UsuarioSnapshot(usuario.getId(), usuario.getNome(), usuario.getEmail(), usuario.getAvatarUrl(),
+                usuario.getBio(), usuario.getLocalizacao(), usuario.getGithubUsername(),
+                // Mesma precisão do timestamp(6) do banco: o ETag não muda quando o cache é recarregado
+                usuario.getDataCadastro() == null ? null : usuario.getDataCadastro().truncatedTo(ChronoUnit.MICROS),
+                usuario.isCadastroCompleto(), usuario.getXpTotal(), usuario.getNivel());
+    }
+
+    /**
+     * ETag forte do perfil: hash SHA-256 (truncado) de todos os campos.
+     * Muda sempre que qualquer dado exibido muda.
+     */
+    @JsonIgnore
+    public String getEtag() {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
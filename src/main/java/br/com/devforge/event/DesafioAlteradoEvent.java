@@ -0,0 +1,16 @@
+package br.com.devforge.event;
+
+import br.com.devforge.model.Desafio;
+
+/**
+ * Evento publicado depois que um desafio entra ou sai do catálogo público
+ * (aprovação automática, revisão da moderação). Desafio recém-criado está PENDENTE e não publica.
+ * <p>
+ * Permite que caches e índices em memória do catálogo se atualizem sem que
+ * o controller precise conhecer cada um deles.
+ * </p>
+ *
+ * @param desafio O desafio já persistido, com o status atual.
+ */
+public record DesafioAlteradoEvent(Desafio desafio) {
+}
@@ -0,0 +1,19 @@
+package br.com.devforge.event;
+
+import java.util.Set;
+
+/**
+ * Evento publicado quando a lista de soluções de um ou mais desafios muda
+ * (nova solução, nova avaliação, aprovação pela nota 5).
+ * <p>
+ * Usado para trocar a versão (ETag) de {@code GET /solucoes?desafioId=} depois do commit.
+ * </p>
+ *
+ * @param desafioIds Desafios cujas listas de soluções mudaram.
+ */
+public record SolucoesAlteradasEvent(Set<Long> desafioIds) {
+
+    public static SolucoesAlteradasEvent de(Long desafioId) {
+        return new SolucoesAlteradasEvent(Set.of(desafioId));
+    }
+}
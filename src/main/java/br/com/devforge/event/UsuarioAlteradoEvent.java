@@ -0,0 +1,17 @@
+package br.com.devforge.event;
+
+import br.com.devforge.model.Usuario;
+
+/**
+ * Evento publicado quando um usuário é criado, alterado (XP, nível, nome, avatar) ou removido.
+ * <p>
+ * Disparado pelo {@link br.com.devforge.model.UsuarioListener} a partir dos callbacks do JPA,
+ * então cobre qualquer caminho que grave a entidade (cadastro, perfil, nível).
+ * O XP somado pelo agregador do ledger não passa pela entidade e chega por {@link XpAplicadoEvent}.
+ * </p>
+ *
+ * @param usuario  O usuário no estado gravado.
+ * @param removido {@code true} se o usuário foi excluído.
+ */
+public record UsuarioAlteradoEvent(Usuario usuario, boolean removido) {
+}
@@ -0,0 +1,17 @@
+package br.com.devforge.event;
+
+import br.com.devforge.dto.SaldoXp;
+
+import java.util.List;
+
+/**
+ * Evento publicado depois do commit de um lote do ledger de XP (ou de um replay).
+ * <p>
+ * O XP é aplicado com UPDATE direto no banco, sem passar pela entidade, então os callbacks do JPA
+ * não disparam; este evento avisa o ranking e o cache de usuários.
+ * </p>
+ *
+ * @param saldos XP e nível atualizados de cada usuário afetado.
+ */
+public record XpAplicadoEvent(List<SaldoXp> saldos) {
+}
@@ -0,0 +1,64 @@
+package br.com.devforge.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+
+/**
+ * Totais das avaliações de uma solução, mantidos junto da própria solução.
+ * <p>
+ * São atualizados com um UPDATE atômico na mesma transação em que a avaliação é gravada
+ * ({@code SolucaoRepository.registrarNota}), então ler a média ou o histograma custa o mesmo
+ * para uma solução com 1 ou com 10 mil avaliações.
+ * </p>
+ * As colunas nunca são escritas pela entidade (insertable/updatable = false): o INSERT usa o DEFAULT do banco
+ * e um save da solução com valores antigos em memória não desfaz os incrementos.
+ */
+@Data
+@Embeddable
+public class AgregadoAvaliacoes {
+
+    @Column(name = "avaliacoes_quantidade", columnDefinition = "integer default 0 not null", insertable = false, updatable = false)
+    private int quantidade;
+
+    @JsonIgnore
+    @Column(name = "avaliacoes_soma", columnDefinition = "bigint default 0 not null", insertable = false, updatable = false)
+    private long soma;
+
+    /**
+     * Média das notas. Null enquanto a solução não tiver avaliações.
+     */
+    @Column(name = "avaliacoes_media", insertable = false, updatable = false)
+    private Double media;
+
+    // Histograma: quantidade de avaliações com cada nota
+    @JsonIgnore
+    @Column(name = "avaliacoes_nota1", columnDefinition = "integer default 0 not null", insertable = false, updatable = false)
+    private int nota1;
+
+    @JsonIgnore
+    @Column(name = "avaliacoes_nota2", columnDefinition = "integer default 0 not null", insertable = false, updatable = false)
+    private int nota2;
+
+    @JsonIgnore
+    @Column(name = "avaliacoes_nota3", columnDefinition = "integer default 0 not null", insertable = false, updatable = false)
+    private int nota3;
+
+    @JsonIgnore
+    @Column(name = "avaliacoes_nota4", columnDefinition = "integer default 0 not null", insertable = false, updatable = false)
+    private int nota4;
+
+    @JsonIgnore
+    @Column(name = "avaliacoes_nota5", columnDefinition = "integer default 0 not null", insertable = false, updatable = false)
+    private int nota5;
+
+    /**
+     * @return Quantidade de avaliações por nota, da nota 1 (posição 0) à nota 5 (posição 4).
+     */
+    @JsonProperty("histograma")
+    public int[] getHistograma() {
+        return new int[]{nota1, nota2, nota3, nota4, nota5};
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Representa a entodade de um Desafio
@@ -49,7 +50,8 @@ public class Desafio {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "desafio_seq")
+    @SequenceGenerator(name = "desafio_seq", sequenceName = "desafio_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -116,6 +118,13 @@ public class Desafio {
      */
     private String status = "PENDENTE";
 
+    /**
+     * Momento em que a moderação automática analisou o desafio.
+     * <code>null</code> com status PENDENTE = ainda na fila da moderação automática;
+     * preenchido com status PENDENTE = retido para revisão humana.
+     */
+    private LocalDateTime moderadoEm;
+
     // --- Relacionamentos (integridade Referencial) ---
 
     /**
@@ -131,4 +140,15 @@ public class Desafio {
     @JoinColumn(name = "criador_api")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "password", "email"})
     private Usuario criador;
+
+    /**
+     * Grava o nível em caixa alta, como o filtro do catálogo compara (sem UPPER na consulta, usando o índice).
+     */
+    @PrePersist
+    @PreUpdate
+    void normalizarNivel() {
+        if (nivel != null) {
+            nivel = nivel.trim().toUpperCase();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package br.com.devforge.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lançamento no ledger de XP: um ganho (ou estorno, com valor negativo) para um usuário.
+ * <p>
+ * A tabela é só de inserção. Os lançamentos nunca são alterados nem apagados; o único campo
+ * gravado depois é {@code aplicadoEm}, quando o agregador soma o lançamento ao {@code xpTotal} do usuário.
+ * Somar os lançamentos aplicados de um usuário reconstrói o XP dele (auditoria e replay).
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "eventos_xp", indexes = {
+        @Index(name = "idx_eventos_xp_usuario", columnList = "usuarioId"),
+        @Index(name = "idx_eventos_xp_aplicado", columnList = "aplicadoEm")
+})
+public class EventoXp {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_xp_seq")
+    @SequenceGenerator(name = "eventos_xp_seq", sequenceName = "eventos_xp_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Usuário que recebe o XP (só o ID: registrar um ganho não carrega o usuário).
+     */
+    @Column(nullable = false, updatable = false)
+    private Long usuarioId;
+
+    /**
+     * Quantidade de XP. Negativa para estornos.
+     */
+    @Column(nullable = false, updatable = false)
+    private Integer xp;
+
+    /**
+     * Origem do ganho (ex: SOLUCAO_APROVADA, CODE_REVIEW, ESTORNO).
+     */
+    @Column(nullable = false, updatable = false)
+    private String motivo;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime criadoEm = LocalDateTime.now();
+
+    /**
+     * Quando o lançamento foi somado ao XP do usuário. Null = aguardando o agregador.
+     */
+    private LocalDateTime aplicadoEm;
+}
@@ -1,5 +1,6 @@
 package br.com.devforge.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -14,7 +15,8 @@ import java.time.LocalDateTime;
 public class Solucao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solucao_seq")
+    @SequenceGenerator(name = "solucao_seq", sequenceName = "solucao_seq", allocationSize = 50)
     private Long id;
 
     private String nomeAutor;
@@ -29,13 +31,21 @@ public class Solucao {
 
     private LocalDateTime dataEnvio = LocalDateTime.now();
 
+    /**
+     * Quantidade, média e histograma das avaliações (mantidos a cada avaliação recebida)
+     */
+    @Embedded
+    private AgregadoAvaliacoes avaliacoes = new AgregadoAvaliacoes();
+
     /**
      * Vinculo com o Desafio (Muitas solucoes -> Um Desafio)
      * Mapeia a coluna 'desafio_id' no banco de dados
+     * Carregado sob demanda (LAZY): a listagem de solucoes nao precisa do desafio (e seus campos TEXT) em cada linha
      * @implNote A existencia deste objeto é obrigatória para persistir a solucao
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "desafio_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Desafio desafio;
 
     public void setStatus(String status) {
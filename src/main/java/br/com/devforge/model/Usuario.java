@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
  */
 @Data
 @Entity
+@EntityListeners(UsuarioListener.class) // Mantém o ranking de XP atualizado
 @Table(name = "usuarios") // Plural para seguir convenções de SQL e evitar palavras reservadas
 public class Usuario {
 
@@ -74,7 +75,8 @@ public class Usuario {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private long id;
 
     // --- Dados Pessoais e Identificação ---
@@ -121,7 +123,9 @@ public class Usuario {
 
     /**
      * Pontuação total de experiência (XP) acumulada.
-     * Ganho ao completar desafios, fazer code reviews ou ter desafios aprovados
+     * Ganho ao completar desafios, fazer code reviews ou ter desafios aprovados.
+     * Só muda pelo ledger ({@code XpService.registrar}): o agregador soma os ganhos com incremento atômico
+     * no banco, sem a leitura-alteração-escrita na entidade que perderia ganhos simultâneos.
      */
     private Integer xpTotal = 0;
 
@@ -135,50 +139,49 @@ public class Usuario {
     // --- Regras de Negócio (Domain Logic) ---
 
     /**
-     * Adiciona pontos de experiência ao usuário e veridica se houve mudança de nível.
-     * @param xpGanho Quantidade de XP a ser adicionada
+     * Recalcula o nível do usuário com base nas faixas de XP total
      */
-    public void adicionarXp(Integer xpGanho) {
-        this.xpTotal += xpGanho;
-        atualizarNivel();
+    public void atualizarNivel() {
+        this.nivel = calcularNivel(this.xpTotal);
     }
 
     /**
-     * Recalcula o nível do usuário com base nas faixas de XP total
+     * Nível correspondente a um XP total.
      * Sistema de progressão com 12 níveis.
+     * Também usado pelo agregador do ledger de XP, que atualiza o banco sem carregar a entidade.
      */
-    public void atualizarNivel() {
+    public static String calcularNivel(int xpTotal) {
         // SENIOR (5000+)
-        if (this.xpTotal >= 10000) {
-            this.nivel = "SENIOR III";
-        } else if (this.xpTotal >= 7500) {
-            this.nivel = "SENIOR III";
-        } else if (this.xpTotal >= 5000) {
-            this.nivel = "SENIOR I";
+        if (xpTotal >= 10000) {
+            return "SENIOR III";
+        } else if (xpTotal >= 7500) {
+            return "SENIOR III";
+        } else if (xpTotal >= 5000) {
+            return "SENIOR I";
 
         // PLENO (1000 - 4999)
         } else if (xpTotal >= 3500) {
-            this.nivel = "PLENO III";
+            return "PLENO III";
         } else if (xpTotal >= 2000) {
-            this.nivel = "PLENO II";
+            return "PLENO II";
         } else if (xpTotal >= 1000) {
-            this.nivel = "PLENO I";
+            return "PLENO I";
 
         // JUNIOR (300 - 999)
-        } else if (this.xpTotal >= 750) {
-            this.nivel = "JUNIOR III";
-        } else if (this.xpTotal >= 500) {
-            this.nivel = "JUNIOR II";
-        } else if (this.xpTotal >= 300) {
-            this.nivel = "JUNIOR I";
+        } else if (xpTotal >= 750) {
+            return "JUNIOR III";
+        } else if (xpTotal >= 500) {
+            return "JUNIOR II";
+        } else if (xpTotal >= 300) {
+            return "JUNIOR I";
 
         // INICIANTE (0 -299)
-        } else if (this.xpTotal >= 200) {
-            this.nivel = "INICIANTE III";
-        } else if (this.xpTotal >= 100) {
-            this.nivel = "INICIANTE II";
+        } else if (xpTotal >= 200) {
+            return "INICIANTE III";
+        } else if (xpTotal >= 100) {
+            return "INICIANTE II";
         } else {
-            this.nivel = "INICIANTE I";
+            return "INICIANTE I";
         }
     }
 }
@@ -0,0 +1,32 @@
+package br.com.devforge.model;
+
+import br.com.devforge.event.UsuarioAlteradoEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Callbacks JPA do {@link Usuario}: avisa o restante da aplicação sempre que um usuário é gravado.
+ * <p>
+ * Instanciado pelo Hibernate através do container do Spring, por isso aceita injeção.
+ * Os ouvintes usam {@code @TransactionalEventListener}, então só reagem depois do commit.
+ * </p>
+ */
+public class UsuarioListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    void aposGravar(Usuario usuario) {
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario, false));
+    }
+
+    @PostRemove
+    void aposRemover(Usuario usuario) {
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario, true));
+    }
+}
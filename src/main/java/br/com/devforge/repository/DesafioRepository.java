@@ -1,17 +1,137 @@
 package br.com.devforge.repository;
 
+import br.com.devforge.dto.DesafioDocumento;
+import br.com.devforge.dto.DesafioResumo;
 import br.com.devforge.model.Desafio;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interface interação com Banco de dados
  * Estende JpaRepository para herdar métodos prontos
+ * Consultas rodam em transação só de leitura (réplica, quando configurada); as gravações, no primário
  */
+@Transactional(readOnly = true)
 public interface DesafioRepository extends JpaRepository<Desafio, Long>{
     // Spring data cria uma implementaçãp automaticamente em tempo de execução
 
     // Busca onde a coluna 'nivel' for igual ao parametro
     List<Desafio> findByNivelIgnoreCase(String nivel);
+
+    /**
+     * Busca uma página do catálogo usando paginação por cursor (keyset).
+     * <p>
+     * Todos os filtros são aplicados no banco. A ordenação é pelo ID, então a página
+     * seguinte começa logo após o último ID recebido ({@code after}) sem precisar de OFFSET.
+     * Só as colunas do card são lidas ({@link DesafioResumo}); os campos TEXT ficam no banco.
+     * O filtro por tecnologia não passa por aqui: é feito no índice de tags em memória
+     * ({@link br.com.devforge.service.busca.IndiceTagsService}), sem LIKE no campo stack.
+     * </p>
+     * Com e sem nível são consultas separadas: um {@code :nivel IS NULL OR ...} impediria o banco
+     * de usar o índice (status, nivel, id) no plano da consulta preparada.
+     *
+     * @param status Status exigido (ex: APROVADO).
+     * @param nivel  Nível em caixa alta, ou {@code null} para não filtrar.
+     * @param after  Último ID da página anterior (0 para a primeira página).
+     * @param limite Quantidade máxima de linhas retornadas.
+     * @return Resumos dos desafios ordenados por ID crescente.
+     */
+    default List<DesafioResumo> buscarPagina(String status, String nivel, Long after, Limit limite) {
+        return nivel == null
+                ? buscarPagina(status, after, limite)
+                : buscarPaginaPorNivel(status, nivel, after, limite);
+    }
+
+    /**
+     * Página do catálogo sem filtro de nível (índice idx_desafio_status_id).
+     */
+    @Query("""
+            SELECT new br.com.devforge.dto.DesafioResumo(d.id, d.titulo, d.nivel, d.stack, d.dataCriacao)
+            FROM Desafio d
+            WHERE d.status = :status
+              AND d.id > :after
+            ORDER BY d.id ASC
+            """)
+    List<DesafioResumo> buscarPagina(@Param("status") String status,
+                                     @Param("after") Long after,
+                                     Limit limite);
+
+    /**
+     * Página do catálogo de um nível (índice idx_desafio_status_nivel_id).
+     * O nível é comparado direto com a coluna: os desafios são gravados com o nível em caixa alta.
+     */
+    @Query("""
+            SELECT new br.com.devforge.dto.DesafioResumo(d.id, d.titulo, d.nivel, d.stack, d.dataCriacao)
+            FROM Desafio d
+            WHERE d.status = :status
+              AND d.nivel = :nivel
+              AND d.id > :after
+            ORDER BY d.id ASC
+            """)
+    List<DesafioResumo> buscarPaginaPorNivel(@Param("status") String status,
+                                             @Param("nivel") String nivel,
+                                             @Param("after") Long after,
+                                             Limit limite);
+
+    /**
+     * Busca um desafio pelo ID, desde que esteja no status informado.
+     * Usado pelo detalhe público para não expor desafios pendentes ou rejeitados.
+     */
+    Optional<Desafio> findByIdAndStatus(Long id, String status);
+
+    /**
+     * Busca só as colunas do card de um desafio (sem os campos TEXT).
+     */
+    @Query("SELECT new br.com.devforge.dto.DesafioResumo(d.id, d.titulo, d.nivel, d.stack, d.dataCriacao) FROM Desafio d WHERE d.id = :id")
+    Optional<DesafioResumo> buscarResumo(@Param("id") Long id);
+
+    /**
+     * Busca os IDs dos desafios que ainda não passaram pela moderação automática
+     * (status PENDENTE e sem data de moderação), do mais antigo para o mais novo.
+     * Usado para recuperar a fila depois de um restart ou de um estouro de capacidade.
+     */
+    @Query("SELECT d.id FROM Desafio d WHERE d.status = 'PENDENTE' AND d.moderadoEm IS NULL ORDER BY d.id ASC")
+    List<Long> buscarIdsAguardandoModeracao(Limit limite);
+
+    /**
+     * Dos IDs informados, retorna os que existem (sem carregar os desafios).
+     * Usado para validar lotes de soluções com uma única consulta.
+     */
+    @Query("SELECT d.id FROM Desafio d WHERE d.id IN :ids")
+    Set<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Percorre os resumos dos desafios de um status (sem os campos TEXT), por ID crescente.
+     * Usado na carga do índice de tags e na exportação em stream do catálogo.
+     * Precisa ser consumido dentro de uma transação e fechado no fim.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.devforge.dto.DesafioResumo(d.id, d.titulo, d.nivel, d.stack, d.dataCriacao) FROM Desafio d WHERE d.status = :status ORDER BY d.id")
+    Stream<DesafioResumo> streamResumos(@Param("status") String status);
+
+    /**
+     * Percorre os desafios de um status com os campos indexados pela busca textual.
+     * Lido em stream (fetch size 200) para a carga do índice não trazer tudo para a memória de uma vez.
+     * Precisa ser consumido dentro de uma transação e fechado no fim.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("""
+            SELECT new br.com.devforge.dto.DesafioDocumento(d.id, d.titulo, d.nivel, d.stack, d.dataCriacao,
+                   d.contexto, d.requisitosFuncionais, d.requisitosTecnicos)
+            FROM Desafio d
+            WHERE d.status = :status
+            """)
+    Stream<DesafioDocumento> streamDocumentos(@Param("status") String status);
 }
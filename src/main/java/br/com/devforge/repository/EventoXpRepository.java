@@ -0,0 +1,47 @@
+package br.com.devforge.repository;
+
+import br.com.devforge.model.EventoXp;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Acesso ao ledger de XP (tabela só de inserção).
+ */
+public interface EventoXpRepository extends JpaRepository<EventoXp, Long> {
+
+    /**
+     * Lançamentos ainda não aplicados, do mais antigo para o mais novo.
+     */
+    @Query("SELECT e FROM EventoXp e WHERE e.aplicadoEm IS NULL ORDER BY e.id ASC")
+    List<EventoXp> buscarPendentes(Limit limite);
+
+    /**
+     * Marca os lançamentos como aplicados, só se ainda estiverem pendentes.
+     * Se outro nó já pegou algum deles, o retorno é menor que a quantidade de IDs.
+     *
+     * @return Quantidade de lançamentos marcados.
+     */
+    @Modifying
+    @Query("UPDATE EventoXp e SET e.aplicadoEm = :agora WHERE e.id IN :ids AND e.aplicadoEm IS NULL")
+    int marcarAplicados(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Extrato de um usuário, do mais novo para o mais antigo, paginado por cursor.
+     *
+     * @param antesDe Último ID da página anterior ({@link Long#MAX_VALUE} para a primeira página).
+     */
+    List<EventoXp> findByUsuarioIdAndIdLessThanOrderByIdDesc(Long usuarioId, Long antesDe, Limit limite);
+
+    @Query("SELECT COALESCE(SUM(e.xp), 0) FROM EventoXp e WHERE e.usuarioId = :usuarioId AND e.aplicadoEm IS NOT NULL")
+    long somarAplicados(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT COALESCE(SUM(e.xp), 0) FROM EventoXp e WHERE e.usuarioId = :usuarioId AND e.aplicadoEm IS NULL")
+    long somarPendentes(@Param("usuarioId") Long usuarioId);
+}
@@ -1,9 +1,25 @@
 package br.com.devforge.repository;
 
+import br.com.devforge.dto.SolucaoResumo;
 import br.com.devforge.model.Solucao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Consultas rodam em transação só de leitura (réplica, quando configurada); as gravações, no primário
+ */
+@Transactional(readOnly = true)
 public interface SolucaoRepository  extends JpaRepository<Solucao, Long> {
 
     /**
@@ -12,4 +28,97 @@ public interface SolucaoRepository  extends JpaRepository<Solucao, Long> {
      * @return Lista de solucoes encontradas ou lista vazia
      */
     List<Solucao> findByDesafioId(Long desafioId);
+
+    /**
+     * Busca uma página de soluções de um desafio, sem carregar o Desafio pai em cada linha
+     * A ordenação vem do {@link Pageable} (ex: dataEnvio, status, avaliacoes.media)
+     *
+     * @param desafioId ID do desafio pai
+     * @param pageable Página, tamanho e ordenação
+     * @return Página de resumos das soluções
+     */
+    @Query(value = """
+            SELECT new br.com.devforge.dto.SolucaoResumo(s.id, s.nomeAutor, s.linkRepositorio, s.status, s.dataEnvio, s.avaliacoes)
+            FROM Solucao s
+            WHERE s.desafio.id = :desafioId
+            """,
+            countQuery = "SELECT COUNT(s) FROM Solucao s WHERE s.desafio.id = :desafioId")
+    Page<SolucaoResumo> buscarPorDesafio(@Param("desafioId") Long desafioId, Pageable pageable);
+
+    /**
+     * Percorre todas as soluções de um desafio, da mais recente para a mais antiga, sem montar uma lista
+     * Lido em stream (fetch size 500) para a exportação; precisa de transação aberta e ser fechado no fim
+     *
+     * @param desafioId ID do desafio pai
+     * @return Stream dos resumos das soluções
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new br.com.devforge.dto.SolucaoResumo(s.id, s.nomeAutor, s.linkRepositorio, s.status, s.dataEnvio, s.avaliacoes)
+            FROM Solucao s
+            WHERE s.desafio.id = :desafioId
+            ORDER BY s.id DESC
+            """)
+    Stream<SolucaoResumo> streamPorDesafio(@Param("desafioId") Long desafioId);
+
+    /**
+     * Soma uma nota aos totais de avaliação da solução com um único UPDATE atômico.
+     * Avaliações simultâneas da mesma solução são serializadas pelo lock da linha, sem perder incrementos.
+     *
+     * @param id   ID da solução
+     * @param nota Nota de 1 a 5 (já validada)
+     * @return 1 se a solução existe, 0 caso contrário
+     */
+    default int registrarNota(Long id, int nota) {
+        int[] histograma = new int[5];
+        histograma[nota - 1] = 1;
+        return somarNotas(id, 1, nota, histograma[0], histograma[1], histograma[2], histograma[3], histograma[4]);
+    }
+
+    /**
+     * Soma várias notas de uma vez aos totais da solução (um UPDATE por solução em um lote de avaliações).
+     * As expressões do SET usam os valores anteriores da linha.
+     *
+     * @return 1 se a solução existe, 0 caso contrário
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Solucao s SET
+                s.avaliacoes.quantidade = s.avaliacoes.quantidade + :quantidade,
+                s.avaliacoes.soma = s.avaliacoes.soma + :soma,
+                s.avaliacoes.media = CAST(s.avaliacoes.soma + :soma AS double) / (s.avaliacoes.quantidade + :quantidade),
+                s.avaliacoes.nota1 = s.avaliacoes.nota1 + :nota1,
+                s.avaliacoes.nota2 = s.avaliacoes.nota2 + :nota2,
+                s.avaliacoes.nota3 = s.avaliacoes.nota3 + :nota3,
+                s.avaliacoes.nota4 = s.avaliacoes.nota4 + :nota4,
+                s.avaliacoes.nota5 = s.avaliacoes.nota5 + :nota5
+            WHERE s.id = :id
+            """)
+    int somarNotas(@Param("id") Long id, @Param("quantidade") int quantidade, @Param("soma") long soma,
+                   @Param("nota1") int nota1, @Param("nota2") int nota2, @Param("nota3") int nota3,
+                   @Param("nota4") int nota4, @Param("nota5") int nota5);
+
+    /**
+     * Recalcula os totais a partir das avaliações gravadas, só das soluções que têm avaliações
+     * mas ainda estão zeradas (avaliações anteriores à criação dos totais).
+     *
+     * @return Quantidade de soluções recalculadas
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Solucao s SET
+                s.avaliacoes.quantidade = (SELECT COUNT(a) FROM Avaliacao a WHERE a.solucao.id = s.id),
+                s.avaliacoes.soma = (SELECT COALESCE(SUM(a.nota), 0) FROM Avaliacao a WHERE a.solucao.id = s.id),
+                s.avaliacoes.media = (SELECT AVG(CAST(a.nota AS double)) FROM Avaliacao a WHERE a.solucao.id = s.id),
+                s.avaliacoes.nota1 = (SELECT COUNT(a) FROM Avaliacao a WHERE a.solucao.id = s.id AND a.nota = 1),
+                s.avaliacoes.nota2 = (SELECT COUNT(a) FROM Avaliacao a WHERE a.solucao.id = s.id AND a.nota = 2),
+                s.avaliacoes.nota3 = (SELECT COUNT(a) FROM Avaliacao a WHERE a.solucao.id = s.id AND a.nota = 3),
+                s.avaliacoes.nota4 = (SELECT COUNT(a) FROM Avaliacao a WHERE a.solucao.id = s.id AND a.nota = 4),
+                s.avaliacoes.nota5 = (SELECT COUNT(a) FROM Avaliacao a WHERE a.solucao.id = s.id AND a.nota = 5)
+            WHERE s.avaliacoes.quantidade = 0
+              AND EXISTS (SELECT 1 FROM Avaliacao a WHERE a.solucao.id = s.id)
+            """)
+    int recalcularTotaisPendentes();
 }
@@ -1,13 +1,28 @@
 package br.com.devforge.repository;
 
+import br.com.devforge.dto.EntradaRanking;
+import br.com.devforge.dto.SaldoXp;
 import br.com.devforge.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface de acesso a dados para a entidade Usuario
  * Estende JpaRepository para herdar operações CRUD padrão (save, findById, delete, etc)
+ * Consultas rodam em transação só de leitura (réplica, quando configurada); as gravações, no primário
  */
+@Transactional(readOnly = true)
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 
     /**
@@ -27,4 +42,46 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
      * @return Um Optional contendo o usuário, caso exista
      */
     Optional<Usuario> findByGithubUsername(String githubUsername);
+
+    /**
+     * Varre todos os usuários lendo só as colunas do ranking de XP.
+     * As linhas vêm do banco em blocos (fetch size), sem carregar a tabela inteira na memória.
+     * Precisa ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream com a entrada de ranking de cada usuário
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new br.com.devforge.dto.EntradaRanking(u.id, u.nome, u.avatarUrl, COALESCE(u.xpTotal, 0), u.nivel) FROM Usuario u")
+    Stream<EntradaRanking> streamRanking();
+
+    // --- Ledger de XP: atualizações atômicas no banco, sem carregar a entidade ---
+
+    /**
+     * Soma XP direto na coluna ({@code xp_total = xp_total + ?}).
+     * Ganhos concorrentes para o mesmo usuário não se perdem: o banco serializa pelo lock da linha.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Usuario u SET u.xpTotal = COALESCE(u.xpTotal, 0) + :xp WHERE u.id = :id")
+    int incrementarXp(@Param("id") Long id, @Param("xp") int xp);
+
+    /**
+     * Recalcula o XP do usuário como a soma dos lançamentos já aplicados do ledger (replay).
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Usuario u SET u.xpTotal = (
+                SELECT COALESCE(SUM(e.xp), 0) FROM EventoXp e WHERE e.usuarioId = u.id AND e.aplicadoEm IS NOT NULL)
+            WHERE u.id = :id
+            """)
+    int recalcularXpPeloLedger(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Usuario u SET u.nivel = :nivel WHERE u.id = :id")
+    int atualizarNivel(@Param("id") Long id, @Param("nivel") String nivel);
+
+    @Query("SELECT new br.com.devforge.dto.SaldoXp(u.id, u.email, COALESCE(u.xpTotal, 0), u.nivel) FROM Usuario u WHERE u.id IN :ids")
+    List<SaldoXp> buscarSaldos(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,199 @@
+package br.com.devforge.service;
+
+import br.com.devforge.dto.ItemLoteAvaliacao;
+import br.com.devforge.dto.ResultadoItemLote;
+import br.com.devforge.dto.ResultadoLote;
+import br.com.devforge.event.SolucoesAlteradasEvent;
+import br.com.devforge.model.Avaliacao;
+import br.com.devforge.model.Solucao;
+import br.com.devforge.repository.AvaliacaoRepository;
+import br.com.devforge.repository.SolucaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Regras de avaliação de soluções.
+ * <p>
+ * Cada avaliação é gravada junto com a atualização dos totais da solução
+ * ({@link br.com.devforge.model.AgregadoAvaliacoes}) na mesma transação: ou as duas coisas acontecem, ou nenhuma.
+ * </p>
+ */
+@Service
+public class AvaliacaoService {
+
+    private static final Logger LOGGER = Logger.getLogger(AvaliacaoService.class.getName());
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private SolucaoRepository solucaoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${lote.tamanho-maximo:500}")
+    private int tamanhoMaximoLote;
+
+    /**
+     * Registra uma avaliação para uma solução e atualiza os totais de avaliação dela.
+     *
+     * @param avaliacao Payload com nota (1 a 5) e comentário
+     * @param solucaoId ID da solução avaliada
+     * @throws RuntimeException se a nota for inválida ou a solução não existir
+     */
+    @Transactional
+    public Avaliacao avaliar(Avaliacao avaliacao, Long solucaoId) {
+        Integer nota = avaliacao.getNota();
+        if (!isNotaValida(nota)) {
+            throw new RuntimeException("Nota inválida! Use um valor de 1 a 5: " + nota);
+        }
+
+        // 1. Soma a nota aos totais direto no banco (atômico, sem ler as outras avaliações)
+        if (solucaoRepository.registrarNota(solucaoId, nota) == 0) {
+            throw new RuntimeException("Solução não encontrada!");
+        }
+
+        // 2. Busca a solucao que esta sendo avaliada (já com os totais atualizados)
+        Solucao solucao = solucaoRepository.findById(solucaoId)
+                .orElseThrow(() -> new RuntimeException("Solução não encontrada!"));
+
+        // 3. Amarra a avaliacao na solucao
+        avaliacao.setSolucao(solucao);
+
+        /**
+         * REGRA DE NEGOCIO
+         * Se a nota for 5, aprova a solucao automaticamente
+         */
+        if (nota == 5) {
+            solucao.setStatus("APROVADO");
+            solucaoRepository.save(solucao);
+        }
+
+        // Totais e status mudaram: troca a versão (ETag) da lista de soluções depois do commit
+        eventPublisher.publishEvent(SolucoesAlteradasEvent.de(solucao.getDesafio().getId()));
+        return avaliacaoRepository.save(avaliacao);
+    }
+
+    /**
+     * Grava várias avaliações numa transação (ex: a turma inteira corrigida de uma vez).
+     * <p>
+     * As soluções são carregadas com uma consulta, as avaliações válidas são inseridas em lotes JDBC e
+     * os totais de cada solução recebem um único UPDATE com a soma das notas do lote.
+     * Itens inválidos voltam com o motivo e não impedem a gravação dos outros.
+     * </p>
+     *
+     * @param itens Avaliações a gravar (no máximo {@code lote.tamanho-maximo}).
+     * @return O resultado de cada item, na ordem recebida.
+     * @throws RuntimeException se o lote estiver vazio ou for grande demais.
+     */
+    @Transactional
+    public ResultadoLote avaliarLote(List<ItemLoteAvaliacao> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new RuntimeException("Lote vazio");
+        }
+        if (itens.size() > tamanhoMaximoLote) {
+            throw new RuntimeException("Lote grande demais: " + itens.size() + " itens (máximo " + tamanhoMaximoLote + ")");
+        }
+
+        Map<Long, Solucao> solucoes = solucaoRepository.findAllById(itens.stream()
+                        .filter(Objects::nonNull)
+                        .map(ItemLoteAvaliacao::solucaoId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Solucao::getId, Function.identity()));
+
+        List<ResultadoItemLote> resultados = new ArrayList<>(itens.size());
+        List<Avaliacao> novas = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        // Histograma do lote por solução (posição 0 a 4 = nota 1 a 5), em ordem de ID para travar as linhas sempre na mesma ordem
+        Map<Long, int[]> notasPorSolucao = new TreeMap<>();
+
+        for (int i = 0; i < itens.size(); i++) {
+            ItemLoteAvaliacao item = itens.get(i);
+            Solucao solucao = item == null ? null : solucoes.get(item.solucaoId());
+            if (item == null || !isNotaValida(item.nota())) {
+                resultados.add(ResultadoItemLote.rejeitado(i, "Nota inválida! Use um valor de 1 a 5: " + (item == null ? null : item.nota())));
+                continue;
+            }
+            if (solucao == null) {
+                resultados.add(ResultadoItemLote.rejeitado(i, "Solução não encontrada! ID inválido: " + item.solucaoId()));
+                continue;
+            }
+
+            Avaliacao avaliacao = new Avaliacao();
+            avaliacao.setNota(item.nota());
+            avaliacao.setComentario(item.comentario());
+            avaliacao.setSolucao(solucao);
+            novas.add(avaliacao);
+            indices.add(i);
+            resultados.add(null); // Preenchido depois do saveAll
+
+            notasPorSolucao.computeIfAbsent(solucao.getId(), id -> new int[5])[item.nota() - 1]++;
+            if (item.nota() == 5) {
+                solucao.setStatus("APROVADO"); // Mesma regra do avaliar(); gravado no commit
+            }
+        }
+
+        notasPorSolucao.forEach((solucaoId, histograma) -> {
+            int quantidade = 0;
+            long soma = 0;
+            for (int nota = 1; nota <= 5; nota++) {
+                quantidade += histograma[nota - 1];
+                soma += (long) nota * histograma[nota - 1];
+            }
+            solucaoRepository.somarNotas(solucaoId, quantidade, soma,
+                    histograma[0], histograma[1], histograma[2], histograma[3], histograma[4]);
+        });
+
+        avaliacaoRepository.saveAll(novas);
+        for (int j = 0; j < novas.size(); j++) {
+            resultados.set(indices.get(j), ResultadoItemLote.gravado(indices.get(j), novas.get(j).getId()));
+        }
+
+        Set<Long> desafiosAlterados = notasPorSolucao.keySet().stream()
+                .map(id -> solucoes.get(id).getDesafio().getId())
+                .collect(Collectors.toSet());
+        if (!desafiosAlterados.isEmpty()) {
+            eventPublisher.publishEvent(new SolucoesAlteradasEvent(desafiosAlterados));
+        }
+        return ResultadoLote.de(resultados);
+    }
+
+    /**
+     * Preenche os totais das soluções que já tinham avaliações antes deles existirem.
+     * Depois da primeira execução não encontra mais nada para fazer.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recalcularTotaisPendentes() {
+        Integer recalculadas = transactionTemplate.execute(status -> solucaoRepository.recalcularTotaisPendentes());
+        if (recalculadas != null && recalculadas > 0) {
+            LOGGER.info("Totais de avaliação recalculados para " + recalculadas + " solução(ões).");
+        }
+    }
+
+    private static boolean isNotaValida(Integer nota) {
+        return nota != null && nota >= 1 && nota <= 5;
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.devforge.service;
+
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.dto.PaginaCursor;
+import br.com.devforge.event.DesafioAlteradoEvent;
+import br.com.devforge.repository.DesafioRepository;
+import br.com.devforge.service.busca.IndiceTagsService;
+import br.com.devforge.service.busca.ModoCombinacao;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço do catálogo público de desafios ({@code GET /desafios}).
+ * <p>
+ * A listagem pública é anônima e igual para todo mundo, então a primeira página de cada combinação
+ * de filtros (nível, tecnologias) é guardada em memória já serializada em JSON ({@link DesafioResumo},
+ * sem os campos TEXT), junto com um número de versão.
+ * Uma leitura em cache é só a cópia dos bytes para o socket, sem ir ao banco e sem passar pelo Jackson.
+ * As páginas seguintes (cursor {@code after}) vão direto ao banco pelo índice de keyset e não entram no cache:
+ * um crawler paginando o catálogo não tira do cache as primeiras páginas, que são as que todo mundo abre.
+ * Páginas filtradas por tecnologia são montadas a partir do índice de tags ({@link IndiceTagsService}).
+ * </p>
+ * <p>
+ * Quando um desafio muda ({@link DesafioAlteradoEvent}), só as páginas que podem conter
+ * aquele nível são invalidadas; as demais continuam servindo os mesmos bytes.
+ * Cada página também expira depois de {@code catalogo.snapshot.max-idade}, o que limita o quanto
+ * um nó pode ficar desatualizado em relação a escritas feitas por outros nós ou direto no banco.
+ * </p>
+ */
+@Service
+public class CatalogoService {
+
+    public static final int LIMITE_MAXIMO = 100;
+
+    // Chave usada para as páginas sem filtro de nível (afetadas por qualquer alteração)
+    private static final String SEM_NIVEL = "";
+    // Chave usada pela invalidação total (afeta todas as páginas)
+    private static final String TODOS = "*";
+
+    @Autowired
+    private DesafioRepository repository;
+
+    @Autowired
+    private IndiceTagsService indiceTagsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalogo.snapshot.max-idade:60s}")
+    private Duration maxIdade;
+
+    @Value("${catalogo.snapshot.max-entradas:128}")
+    private int maxEntradas;
+
+    // Caffeine (W-TinyLFU): combinações raras de filtros não expulsam as mais pedidas
+    private Cache<ConsultaCatalogo, Snapshot> snapshots;
+
+    // Versão do catálogo: incrementada a cada invalidação
+    private final AtomicLong versao = new AtomicLong();
+
+    // Versão da última invalidação por nível (SEM_NIVEL e TODOS têm entradas próprias)
+    private final Map<String, Long> invalidadoEm = new ConcurrentHashMap<>();
+
+    private Counter acertos;
+    private Counter falhas;
+    private Counter semCache;
+
+    @PostConstruct
+    void inicializar() {
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .build();
+        acertos = meterRegistry.counter("catalogo.snapshot", "resultado", "hit");
+        falhas = meterRegistry.counter("catalogo.snapshot", "resultado", "miss");
+        semCache = meterRegistry.counter("catalogo.snapshot", "resultado", "cursor");
+    }
+
+    /**
+     * Retorna uma página do catálogo já serializada em JSON. A primeira página usa o snapshot em memória
+     * quando ainda é válido; as seguintes são sempre montadas na hora.
+     *
+     * @param nivel (Opcional) Nível de senioridade.
+     * @param stacks (Opcional) Tecnologias usadas pelo desafio.
+     * @param modo  Se o desafio precisa usar todas as tecnologias (AND) ou qualquer uma (OR).
+     * @param after (Opcional) Cursor da página anterior.
+     * @param limit Tamanho da página solicitado (limitado a {@link #LIMITE_MAXIMO}).
+     * @return Os bytes JSON da página.
+     */
+    public byte[] listarJson(String nivel, Collection<String> stacks, ModoCombinacao modo, Long after, int limit) {
+        ConsultaCatalogo consulta = ConsultaCatalogo.de(nivel, stacks, modo, after, limit);
+        if (consulta.after() != 0) {
+            semCache.increment();
+            return serializar(buscarPagina(consulta));
+        }
+
+        Snapshot snapshot = snapshots.getIfPresent(consulta);
+        if (snapshot != null && isValido(consulta, snapshot)) {
+            acertos.increment();
+            return snapshot.json();
+        }
+
+        falhas.increment();
+        // A versão é lida ANTES da consulta: se algo mudar durante a montagem, o snapshot já nasce inválido
+        long versaoAtual = versao.get();
+        byte[] json = serializar(buscarPagina(consulta));
+        snapshots.put(consulta, new Snapshot(json, versaoAtual, System.nanoTime()));
+        return json;
+    }
+
+    /**
+     * @return Versão atual do catálogo (muda a cada invalidação).
+     */
+    public long getVersao() {
+        return versao.get();
+    }
+
+    /**
+     * Invalida todas as páginas do catálogo.
+     * Gancho explícito para alterações feitas fora do fluxo normal (ex: ajustes direto no banco).
+     */
+    public void invalidar() {
+        invalidadoEm.merge(TODOS, versao.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Invalida só as páginas que podem conter o desafio alterado:
+     * as do mesmo nível e as sem filtro de nível.
+     */
+    @EventListener
+    public void onDesafioAlterado(DesafioAlteradoEvent evento) {
+        long novaVersao = versao.incrementAndGet();
+        String nivel = ConsultaCatalogo.normalizarNivel(evento.desafio().getNivel());
+        if (nivel != null) {
+            invalidadoEm.merge(nivel, novaVersao, Math::max);
+        }
+        invalidadoEm.merge(SEM_NIVEL, novaVersao, Math::max);
+    }
+
+    private boolean isValido(ConsultaCatalogo consulta, Snapshot snapshot) {
+        if (System.nanoTime() - snapshot.geradoEmNanos() > maxIdade.toNanos()) {
+            return false;
+        }
+        String chaveNivel = consulta.nivel() == null ? SEM_NIVEL : consulta.nivel();
+        return snapshot.versao() >= invalidadoEm.getOrDefault(TODOS, 0L)
+                && snapshot.versao() >= invalidadoEm.getOrDefault(chaveNivel, 0L);
+    }
+
+    private PaginaCursor<DesafioResumo> buscarPagina(ConsultaCatalogo consulta) {
+        // Busca uma linha a mais só para saber se existe próxima página
+        List<DesafioResumo> desafios = consulta.stacks().isEmpty()
+                ? repository.buscarPagina(
+                        "APROVADO", // Regra de segurança: Só mostra aprovados
+                        consulta.nivel(),
+                        consulta.after(),
+                        Limit.of(consulta.limite() + 1))
+                // O índice de tags só contém desafios aprovados
+                : indiceTagsService.buscarPagina(consulta.stacks(), consulta.modo(), consulta.nivel(),
+                        consulta.after(), consulta.limite() + 1);
+
+        return PaginaCursor.de(desafios, consulta.limite(), DesafioResumo::id);
+    }
+
+    private byte[] serializar(Object pagina) {
+        try {
+            return objectMapper.writeValueAsBytes(pagina);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar o catálogo de desafios", e);
+        }
+    }
+
+    /**
+     * Filtros normalizados de uma consulta ao catálogo (chave do cache).
+     */
+    record ConsultaCatalogo(String nivel, List<String> stacks, ModoCombinacao modo, long after, int limite) {
+
+        static ConsultaCatalogo de(String nivel, Collection<String> stacks, ModoCombinacao modo, Long after, int limit) {
+            List<String> tags = IndiceTagsService.normalizarFiltro(stacks);
+            return new ConsultaCatalogo(
+                    normalizarNivel(nivel),
+                    tags,
+                    tags.size() > 1 && modo == ModoCombinacao.OR ? ModoCombinacao.OR : ModoCombinacao.AND, // Com uma tag só, AND = OR
+                    after == null ? 0L : after,
+                    Math.clamp(limit, 1, LIMITE_MAXIMO));
+        }
+
+        static String normalizarNivel(String nivel) {
+            return nivel == null || nivel.isBlank() ? null : nivel.trim().toUpperCase();
+        }
+    }
+
+    /**
+     * Página serializada e a versão do catálogo no momento em que foi montada.
+     */
+    private record Snapshot(byte[] json, long versao, long geradoEmNanos) {
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.devforge.service;
+
+import br.com.devforge.event.DesafioAlteradoEvent;
+import br.com.devforge.model.Desafio;
+import br.com.devforge.repository.DesafioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fila de moderação automática dos desafios submetidos.
+ * <p>
+ * O {@code POST /desafios} só persiste o desafio como PENDENTE e coloca o ID nesta fila,
+ * então o autor não espera a varredura. Workers em virtual threads drenam a fila em lotes,
+ * passam cada desafio pelo {@link ModeracaoService} e mudam o status para APROVADO
+ * (ou mantêm PENDENTE para revisão humana).
+ * </p>
+ * <p>
+ * A fila é limitada. Se estiver cheia, ou se a aplicação reiniciar com itens na fila,
+ * nada se perde: os desafios continuam no banco como PENDENTE sem {@code moderadoEm}
+ * e são reenfileirados pela varredura de recuperação (no startup e periodicamente).
+ * </p>
+ */
+@Service
+public class FilaModeracaoService {
+
+    private static final Logger LOGGER = Logger.getLogger(FilaModeracaoService.class.getName());
+
+    @Autowired
+    private DesafioRepository repository;
+
+    @Autowired
+    private ModeracaoService moderacaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${moderacao.fila.capacidade:1000}")
+    private int capacidade;
+
+    @Value("${moderacao.fila.workers:2}")
+    private int quantidadeWorkers;
+
+    @Value("${moderacao.fila.tamanho-lote:50}")
+    private int tamanhoLote;
+
+    private BlockingQueue<ItemModeracao> fila;
+
+    // IDs que já estão na fila ou sendo processados (evita enfileirar duas vezes na recuperação)
+    private final Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean ativo = true;
+
+    private Timer timerAtraso;
+
+    @PostConstruct
+    void inicializar() {
+        fila = new ArrayBlockingQueue<>(capacidade);
+
+        Gauge.builder("moderacao.fila.tamanho", this, s -> s.fila.size())
+                .description("Desafios aguardando a moderação automática")
+                .register(meterRegistry);
+        Gauge.builder("moderacao.fila.atraso.mais.antigo", this, FilaModeracaoService::atrasoMaisAntigoSegundos)
+                .description("Há quanto tempo (s) o item mais antigo da fila está esperando")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        timerAtraso = Timer.builder("moderacao.fila.atraso")
+                .description("Tempo entre a submissão e a conclusão da moderação automática")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inicia os workers e recupera o que ficou pendente de execuções anteriores.
+     * Roda só depois que a aplicação está pronta para não competir com o startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarWorkers() {
+        for (int i = 0; i < quantidadeWorkers; i++) {
+            workers.add(Thread.ofVirtual().name("moderacao-worker-" + i).start(this::executarWorker));
+        }
+        recuperarPendentes();
+    }
+
+    @PreDestroy
+    void parar() {
+        ativo = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Coloca um desafio recém-salvo na fila de moderação.
+     * Se a fila estiver cheia o desafio não se perde: será pego pela próxima varredura de recuperação.
+     *
+     * @param desafio Desafio já persistido como PENDENTE.
+     */
+    public void enfileirar(Desafio desafio) {
+        Long id = desafio.getId();
+        if (!emAndamento.add(id)) {
+            return; // Já está na fila
+        }
+        if (!fila.offer(new ItemModeracao(id, System.nanoTime()))) {
+            emAndamento.remove(id);
+            LOGGER.warning("Fila de moderação cheia (" + capacidade + "). Desafio " + id + " será recuperado depois.");
+        }
+    }
+
+    /**
+     * Reenfileira os desafios que ainda não passaram pela moderação automática
+     * (restart com itens na fila, fila cheia, falha de um lote).
+     */
+    @Scheduled(fixedDelayString = "${moderacao.fila.intervalo-recuperacao:60s}",
+            initialDelayString = "${moderacao.fila.intervalo-recuperacao:60s}")
+    public void recuperarPendentes() {
+        int espaco = fila.remainingCapacity();
+        if (espaco == 0) {
+            return;
+        }
+        List<Long> ids = repository.buscarIdsAguardandoModeracao(Limit.of(espaco));
+        int recuperados = 0;
+        for (Long id : ids) {
+            if (emAndamento.add(id)) {
+                if (!fila.offer(new ItemModeracao(id, System.nanoTime()))) {
+                    emAndamento.remove(id);
+                    break;
+                }
+                recuperados++;
+            }
+        }
+        if (recuperados > 0) {
+            LOGGER.info("Moderação: " + recuperados + " desafio(s) pendente(s) recuperado(s) para a fila.");
+        }
+    }
+
+    private void executarWorker() {
+        List<ItemModeracao> lote = new ArrayList<>(tamanhoLote);
+        while (ativo) {
+            try {
+                // Bloqueia até chegar o primeiro item e pega o que mais estiver disponível, até o tamanho do lote
+                lote.add(fila.take());
+                fila.drainTo(lote, tamanhoLote - 1);
+                processarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Os itens do lote continuam PENDENTE sem moderadoEm e voltam na próxima recuperação
+                LOGGER.log(Level.SEVERE, "Erro ao moderar lote de " + lote.size() + " desafio(s): " + e.getMessage(), e);
+            } finally {
+                lote.forEach(item -> emAndamento.remove(item.desafioId()));
+                lote.clear();
+            }
+        }
+    }
+
+    private void processarLote(List<ItemModeracao> lote) {
+        List<Long> ids = lote.stream().map(ItemModeracao::desafioId).toList();
+
+        List<Desafio> moderados = transactionTemplate.execute(status -> {
+            LocalDateTime agora = LocalDateTime.now();
+            List<Desafio> alterados = new ArrayList<>();
+            for (Desafio desafio : repository.findAllById(ids)) {
+                if (!"PENDENTE".equals(desafio.getStatus()) || desafio.getModeradoEm() != null) {
+                    continue; // Já moderado (outro nó ou revisão humana chegou antes)
+                }
+                if (moderacaoService.isConteudoSeguro(desafio)) {
+                    desafio.setStatus("APROVADO"); // Conteúdo limpo, publicado 🚀
+                }
+                // Se não for seguro, continua PENDENTE para revisão humana 🛡️
+                desafio.setModeradoEm(agora);
+                alterados.add(desafio);
+            }
+            return alterados; // Gravados no commit (dirty checking), sem save explícito
+        });
+
+        // Eventos só depois do commit, para os caches lerem o status já gravado.
+        // Só os aprovados mudam o catálogo público; os que ficam PENDENTE continuam fora dele
+        moderados.stream()
+                .filter(desafio -> "APROVADO".equals(desafio.getStatus()))
+                .forEach(desafio -> eventPublisher.publishEvent(new DesafioAlteradoEvent(desafio)));
+
+        long agora = System.nanoTime();
+        lote.forEach(item -> timerAtraso.record(agora - item.enfileiradoEmNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    private double atrasoMaisAntigoSegundos() {
+        ItemModeracao maisAntigo = fila.peek();
+        return maisAntigo == null ? 0 : (System.nanoTime() - maisAntigo.enfileiradoEmNanos()) / 1e9;
+    }
+
+    private record ItemModeracao(Long desafioId, long enfileiradoEmNanos) {
+    }
+}
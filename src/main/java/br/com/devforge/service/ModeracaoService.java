@@ -1,15 +1,36 @@
 package br.com.devforge.service;
 
 import br.com.devforge.model.Desafio;
+import br.com.devforge.service.moderacao.AutomatoTermos;
+import br.com.devforge.service.moderacao.ChaveModeracao;
+import br.com.devforge.service.moderacao.OcorrenciaTermo;
+import br.com.devforge.service.moderacao.SnapshotBlocklist;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,8 +38,18 @@ import java.util.logging.Logger;
  * Serviço responsável pela moderação automática de conteúdo gerado por usuários.
  * <p>
  * Atua como uma primeira barreira de defesa contra SPAM e conteúdo ofensivo.
- * Carrega uma lista de termos proibidos (blocklist) de um arquivo externo e verifica
- * se os desafios submetidos contêm algum desses termos.
+ * Carrega uma lista de termos proibidos (blocklist) de um arquivo externo, compila
+ * em um {@link AutomatoTermos} e verifica se os desafios submetidos contêm algum desses termos.
+ * </p>
+ * <p>
+ * Se {@code moderacao.blocklist.caminho} apontar para um arquivo, ele é verificado periodicamente
+ * e recarregado quando muda, sem redeploy. Cada recarga compila um {@link SnapshotBlocklist} novo
+ * em segundo plano e publica com uma troca atômica: quem está moderando nunca espera nem vê uma lista pela metade.
+ * </p>
+ * <p>
+ * Spam costuma chegar em muitas cópias do mesmo texto. O veredito de cada conteúdo fica num cache limitado
+ * (por tamanho e idade), chaveado pelo hash do conteúdo normalizado e pela versão da blocklist
+ * ({@link ChaveModeracao}): cópias repetidas não são varridas de novo, e uma lista nova nunca usa veredito da anterior.
  * </p>
  */
 @Service
@@ -27,8 +58,45 @@ public class ModeracaoService {
     private static final Logger LOGGER = Logger.getLogger(ModeracaoService.class.getName());
     private static final String BLOCKLIST_FILENAME = "blocklist.txt";
 
-    // Armazena os termos em memória para acesso rápido (O(1) ou O(n)) sem ler disco toda vez
-    private final List<String> termosProibidos = new ArrayList<>();
+    /**
+     * Se {@code true}, só considera termos que aparecem como palavras inteiras
+     * (evita falsos positivos como "bet" dentro de "alfabeto").
+     */
+    @Value("${moderacao.limite-palavra:true}")
+    private boolean limitePalavra;
+
+    /**
+     * Arquivo externo da blocklist. Vazio = usa o blocklist.txt do classpath (sem recarga).
+     */
+    @Value("${moderacao.blocklist.caminho:}")
+    private String caminhoBlocklist;
+
+    /**
+     * Quantidade máxima de vereditos guardados. 0 = sem cache (toda análise varre o conteúdo).
+     */
+    @Value("${moderacao.cache.max-entradas:10000}")
+    private long cacheMaxEntradas;
+
+    @Value("${moderacao.cache.ttl:1h}")
+    private Duration cacheTtl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Versão publicada da blocklist. Leitores pegam a referência uma vez por análise (sem lock)
+    private final AtomicReference<SnapshotBlocklist> snapshot = new AtomicReference<>(SnapshotBlocklist.VAZIO);
+
+    // Data de modificação + tamanho do arquivo na última carga, para detectar alterações
+    private String assinaturaCarregada;
+
+    private Timer timerRecarga;
+    private Timer timerVarredura;
+    private Counter aprovados;
+    private Counter retidos;
+
+    // Conteúdo já analisado -> termos encontrados nele
+    private Cache<ChaveModeracao, Veredito> vereditos;
+    private Counter varreduraEvitada;
 
     /**
      * Inicializa o serviço carregando a blocklist do disco para a memória.
@@ -38,30 +106,172 @@ public class ModeracaoService {
     public void carregarTermos() {
         LOGGER.info("Iniciando carregamento da lista de moderação...");
 
+        timerRecarga = Timer.builder("moderacao.blocklist.recarga")
+                .description("Tempo para ler e compilar a blocklist")
+                .register(meterRegistry);
+        timerVarredura = Timer.builder("moderacao.varredura")
+                .description("Tempo para varrer os campos de um desafio contra a blocklist")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        aprovados = Counter.builder("moderacao.resultado").tag("resultado", "aprovado")
+                .description("Desafios analisados pela moderação automática")
+                .register(meterRegistry);
+        retidos = Counter.builder("moderacao.resultado").tag("resultado", "retido")
+                .description("Desafios analisados pela moderação automática")
+                .register(meterRegistry);
+        vereditos = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntradas)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}: taxa de acerto no Prometheus
+        CaffeineCacheMetrics.monitor(meterRegistry, vereditos, "moderacao.vereditos");
+        varreduraEvitada = Counter.builder("moderacao.vereditos.varredura.evitada")
+                .description("Tempo de varredura que os vereditos do cache pouparam (custo original de cada conteúdo repetido)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("moderacao.blocklist.termos", snapshot, s -> s.get().automato().quantidadeTermos())
+                .description("Quantidade de termos na blocklist publicada")
+                .register(meterRegistry);
+        Gauge.builder("moderacao.blocklist.versao", snapshot, s -> s.get().versao())
+                .description("Versão da blocklist publicada")
+                .register(meterRegistry);
+
+        recarregar();
+    }
+
+    /**
+     * Verifica se o arquivo externo da blocklist mudou e, se mudou, recarrega.
+     * Roda na thread de agendamento, nunca na thread da requisição.
+     */
+    @Scheduled(fixedDelayString = "${moderacao.blocklist.intervalo-verificacao:30s}",
+            initialDelayString = "${moderacao.blocklist.intervalo-verificacao:30s}")
+    public void verificarAlteracoes() {
+        if (caminhoBlocklist.isBlank()) {
+            return; // Lista do classpath não muda sem redeploy
+        }
+
+        String assinatura = assinaturaArquivo();
+        if (assinatura != null && !assinatura.equals(assinaturaCarregada)) {
+            LOGGER.info("Alteração detectada na blocklist (" + caminhoBlocklist + "). Recarregando...");
+            recarregar();
+        }
+    }
+
+    /**
+     * @return A versão da blocklist publicada no momento.
+     */
+    public SnapshotBlocklist getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Lê e compila a blocklist e publica a nova versão.
+     * Se a leitura falhar, a versão anterior continua valendo.
+     */
+    private void recarregar() {
+        long inicio = System.nanoTime();
+        String assinatura = caminhoBlocklist.isBlank() ? null : assinaturaArquivo();
+
         try {
+            List<String> termosProibidos = lerTermos();
+            if (termosProibidos == null) {
+                return;
+            }
+
+            AutomatoTermos automato = AutomatoTermos.compilar(termosProibidos, limitePalavra);
+            Duration tempo = Duration.ofNanos(System.nanoTime() - inicio);
+
+            SnapshotBlocklist anterior = snapshot.get();
+            SnapshotBlocklist novo = new SnapshotBlocklist(automato, anterior.versao() + 1, origem(), Instant.now(), tempo);
+            snapshot.set(novo);
+            assinaturaCarregada = assinatura;
+            vereditos.invalidateAll(); // A versão faz parte da chave: os vereditos da lista anterior só ocupariam espaço
+            timerRecarga.record(tempo);
+
+            LOGGER.info("Moderação carregada com sucesso. Total de termos monitorados: " + automato.quantidadeTermos()
+                    + " (versão " + novo.versao() + ", compilada em " + tempo.toMillis() + " ms)");
+
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Erro crítico ao ler arquivo de moderação: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Termos da blocklist, ou {@code null} se a fonte não existir.
+     */
+    private List<String> lerTermos() throws IOException {
+        BufferedReader reader;
+        if (caminhoBlocklist.isBlank()) {
             ClassPathResource resource = new ClassPathResource(BLOCKLIST_FILENAME);
 
             // Verifica se o arquivo existe antes de tentar ler
             if (!resource.exists()) {
                 LOGGER.warning("AVISO: Arquivo 'blocklist.txt' não encontrado em resources. Moderação automática estará inativa.");
-                return;
+                return null;
             }
+            reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+        } else {
+            Path caminho = Path.of(caminhoBlocklist);
+            if (!Files.isReadable(caminho)) {
+                LOGGER.warning("AVISO: Blocklist externa '" + caminhoBlocklist + "' não encontrada. Mantendo a versão atual.");
+                return null;
+            }
+            reader = Files.newBufferedReader(caminho, StandardCharsets.UTF_8);
+        }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
-                String linha;
-                while ((linha = reader.readLine()) != null) {
-                    // Ignora linhas vazias ou comentários (se houver)
-                    if (!linha.trim().isEmpty()) {
-                        termosProibidos.add(linha.trim().toLowerCase());
-                    }
+        List<String> termosProibidos = new ArrayList<>();
+        try (reader) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                // Ignora linhas vazias ou comentários (se houver)
+                if (!linha.trim().isEmpty()) {
+                    termosProibidos.add(linha.trim());
                 }
             }
+        }
+        return termosProibidos;
+    }
 
-            LOGGER.info("Moderação carregada com sucesso. Total de termos monitorados: " + termosProibidos.size());
+    private String origem() {
+        return caminhoBlocklist.isBlank() ? "classpath:" + BLOCKLIST_FILENAME : caminhoBlocklist;
+    }
 
+    private String assinaturaArquivo() {
+        try {
+            Path caminho = Path.of(caminhoBlocklist);
+            return Files.getLastModifiedTime(caminho).toMillis() + ":" + Files.size(caminho);
         } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Erro crítico ao ler arquivo de moderação: " + e.getMessage(), e);
+            return null; // Arquivo sumiu ou está sendo substituído; tenta de novo na próxima verificação
+        }
+    }
+
+    /**
+     * Analisa o conteúdo textual de um Desafio e retorna todos os termos proibidos encontrados.
+     * Cada campo (Título, Contexto, Requisitos Funcionais e Técnicos) é varrido uma única vez,
+     * sem concatenar os textos.
+     *
+     * @param desafio O objeto Desafio a ser analisado.
+     * @return Ocorrências encontradas, com o campo e a posição de cada termo. Lista vazia se o conteúdo estiver limpo.
+     */
+    public List<OcorrenciaTermo> analisar(Desafio desafio) {
+        return analisar(desafio, snapshot.get().automato());
+    }
+
+    private List<OcorrenciaTermo> analisar(Desafio desafio, AutomatoTermos automato) {
+        long inicio = System.nanoTime();
+        List<OcorrenciaTermo> ocorrencias = new ArrayList<>();
+        automato.buscar("titulo", desafio.getTitulo(), ocorrencias);
+        automato.buscar("contexto", desafio.getContexto(), ocorrencias);
+        automato.buscar("requisitosFuncionais", desafio.getRequisitosFuncionais(), ocorrencias);
+        automato.buscar("requisitosTecnicos", desafio.getRequisitosTecnicos(), ocorrencias);
+        timerVarredura.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        // Ocorrências por campo (tag de cardinalidade fixa: os quatro campos varridos)
+        for (OcorrenciaTermo ocorrencia : ocorrencias) {
+            meterRegistry.counter("moderacao.termos.detectados", "campo", ocorrencia.campo()).increment();
         }
+        return ocorrencias;
     }
 
     /**
@@ -73,28 +283,47 @@ public class ModeracaoService {
      * {@code false} caso contrário.
      */
     public boolean isConteudoSeguro(Desafio desafio) {
-        if (termosProibidos.isEmpty()) {
+        // Usa a mesma versão da lista do começo ao fim da análise
+        SnapshotBlocklist versao = snapshot.get();
+        if (versao.automato().quantidadeTermos() == 0) {
             return true; // Se não há lista, aprova tudo (Fail-open) ou poderia bloquear (Fail-closed)
         }
 
-        // Concatena todos os campos de texto para uma única varredura
-        // Normaliza para lowercase para garantir que o match funcione independente da caixa
-        String conteudoCompleto = (
-                desafio.getTitulo() + " " +
-                        desafio.getContexto() + " " +
-                        desafio.getRequisitosFuncionais() + " " +
-                        desafio.getRequisitosTecnicos()
-        ).toLowerCase();
-
-        for (String termo : termosProibidos) {
-            // Verifica a presença do termo proibido
-            // TODO: Futuramente implementar Regex para evitar falsos positivos em palavras compostas
-            if (conteudoCompleto.contains(termo)) {
-                LOGGER.info("Conteúdo retido pela moderação automática. Termo detectado: " + termo);
-                return false; // Conteúdo impróprio detectado
-            }
+        List<OcorrenciaTermo> ocorrencias = analisarComCache(desafio, versao);
+        if (!ocorrencias.isEmpty()) {
+            retidos.increment();
+            LOGGER.info("Conteúdo retido pela moderação automática. Termos detectados: " + ocorrencias);
+            return false; // Conteúdo impróprio detectado
         }
 
+        aprovados.increment();
         return true; // Conteúdo limpo
     }
-}
\ No newline at end of file
+
+    /**
+     * Devolve o veredito guardado para o mesmo conteúdo e versão da blocklist, ou varre e guarda.
+     * Cópias simultâneas do mesmo conteúdo esperam a primeira varredura em vez de repeti-la.
+     */
+    private List<OcorrenciaTermo> analisarComCache(Desafio desafio, SnapshotBlocklist versao) {
+        ChaveModeracao chave = ChaveModeracao.de(versao.versao(), desafio.getTitulo(), desafio.getContexto(),
+                desafio.getRequisitosFuncionais(), desafio.getRequisitosTecnicos());
+
+        boolean[] varreu = new boolean[1];
+        Veredito veredito = vereditos.get(chave, c -> {
+            varreu[0] = true;
+            long inicio = System.nanoTime();
+            List<OcorrenciaTermo> ocorrencias = List.copyOf(analisar(desafio, versao.automato()));
+            return new Veredito(ocorrencias, System.nanoTime() - inicio);
+        });
+        if (!varreu[0]) {
+            varreduraEvitada.increment(veredito.nanosVarredura() / 1e9);
+        }
+        return veredito.ocorrencias();
+    }
+
+    /**
+     * Resultado de uma varredura e quanto ela custou (o que cada acerto no cache deixa de gastar).
+     */
+    private record Veredito(List<OcorrenciaTermo> ocorrencias, long nanosVarredura) {
+    }
+}
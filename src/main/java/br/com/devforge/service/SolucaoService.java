@@ -0,0 +1,151 @@
+package br.com.devforge.service;
+
+import br.com.devforge.dto.ItemLoteSolucao;
+import br.com.devforge.dto.ResultadoItemLote;
+import br.com.devforge.dto.ResultadoLote;
+import br.com.devforge.event.SolucoesAlteradasEvent;
+import br.com.devforge.model.Desafio;
+import br.com.devforge.model.Solucao;
+import br.com.devforge.repository.DesafioRepository;
+import br.com.devforge.repository.SolucaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Regras de envio de soluções, uma a uma ou em lote (importações, turmas inteiras).
+ */
+@Service
+public class SolucaoService {
+
+    private static final String LINK_OBRIGATORIO = "O link do repositório é obrigatório";
+
+    @Autowired
+    private SolucaoRepository solucaoRepository;
+
+    @Autowired
+    private DesafioRepository desafioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${lote.tamanho-maximo:500}")
+    private int tamanhoMaximoLote;
+
+    /**
+     * Grava uma solução para um desafio existente.
+     * A validação do desafio e o INSERT rodam na mesma transação de escrita (no primário,
+     * nunca numa réplica atrasada que ainda não conhece um desafio recém-criado).
+     *
+     * @param solucao   Dados do autor e link.
+     * @param desafioId ID do desafio ao qual a solução pertence.
+     * @throws RuntimeException se o link do repositório estiver vazio ou o desafio não existir.
+     */
+    @Transactional
+    public Solucao enviar(Solucao solucao, Long desafioId) {
+        if (!isLinkValido(solucao.getLinkRepositorio())) {
+            throw new RuntimeException(LINK_OBRIGATORIO);
+        }
+        Desafio desafio = desafioRepository.findById(desafioId)
+                .orElseThrow(() -> new RuntimeException("Desafio não encontrado! ID inválido: " + desafioId));
+
+        solucao.setDesafio(desafio);
+        Solucao salva = solucaoRepository.save(solucao);
+
+        // Troca a versão (ETag) da lista de soluções do desafio
+        eventPublisher.publishEvent(SolucoesAlteradasEvent.de(desafioId));
+        return salva;
+    }
+
+    /**
+     * Grava várias soluções numa transação.
+     * <p>
+     * Os desafios são validados com uma única consulta (só IDs) e as soluções válidas são inseridas
+     * em lotes JDBC (IDs de sequence, {@code hibernate.jdbc.batch_size}).
+     * Itens inválidos voltam com o motivo e não impedem a gravação dos outros.
+     * </p>
+     *
+     * @param itens Soluções a gravar (no máximo {@code lote.tamanho-maximo}).
+     * @return O resultado de cada item, na ordem recebida.
+     * @throws RuntimeException se o lote estiver vazio ou for grande demais.
+     */
+    @Transactional
+    public ResultadoLote enviarLote(List<ItemLoteSolucao> itens) {
+        validarTamanho(itens);
+
+        Set<Long> desafiosExistentes = desafioRepository.buscarIdsExistentes(itens.stream()
+                .filter(Objects::nonNull)
+                .map(ItemLoteSolucao::desafioId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+
+        List<ResultadoItemLote> resultados = new ArrayList<>(itens.size());
+        List<Solucao> novas = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i++) {
+            ItemLoteSolucao item = itens.get(i);
+            String erro = validar(item, desafiosExistentes);
+            if (erro != null) {
+                resultados.add(ResultadoItemLote.rejeitado(i, erro));
+                continue;
+            }
+            Solucao solucao = new Solucao();
+            solucao.setNomeAutor(item.nomeAutor());
+            solucao.setLinkRepositorio(item.linkRepositorio());
+            solucao.setDesafio(desafioRepository.getReferenceById(item.desafioId())); // Sem carregar o desafio
+            novas.add(solucao);
+            indices.add(i);
+            resultados.add(null); // Preenchido depois do saveAll
+        }
+
+        solucaoRepository.saveAll(novas);
+        for (int j = 0; j < novas.size(); j++) {
+            resultados.set(indices.get(j), ResultadoItemLote.gravado(indices.get(j), novas.get(j).getId()));
+        }
+
+        // Troca a versão (ETag) da lista de soluções de cada desafio afetado, depois do commit
+        Set<Long> desafiosAlterados = indices.stream().map(i -> itens.get(i).desafioId()).collect(Collectors.toSet());
+        if (!desafiosAlterados.isEmpty()) {
+            eventPublisher.publishEvent(new SolucoesAlteradasEvent(desafiosAlterados));
+        }
+        return ResultadoLote.de(resultados);
+    }
+
+    private static String validar(ItemLoteSolucao item, Set<Long> desafiosExistentes) {
+        if (item == null) {
+            return "Item vazio";
+        }
+        if (item.desafioId() == null || !desafiosExistentes.contains(item.desafioId())) {
+            return "Desafio não encontrado! ID inválido: " + item.desafioId();
+        }
+        if (!isLinkValido(item.linkRepositorio())) {
+            return LINK_OBRIGATORIO;
+        }
+        return null;
+    }
+
+    /**
+     * Mesma regra no envio unitário e no lote: toda solução aponta para um repositório.
+     */
+    private static boolean isLinkValido(String linkRepositorio) {
+        return linkRepositorio != null && !linkRepositorio.isBlank();
+    }
+
+    private void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new RuntimeException("Lote vazio");
+        }
+        if (itens.size() > tamanhoMaximoLote) {
+            throw new RuntimeException("Lote grande demais: " + itens.size() + " itens (máximo " + tamanhoMaximoLote + ")");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.devforge.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Respostas JSON grandes escritas em stream, linha a linha, direto do cursor do banco para o socket.
+ * <p>
+ * Nos endpoints paginados a página inteira vira uma {@code List} e depois um {@code byte[]} antes de sair.
+ * Aqui cada linha do {@link Stream} do repositório é serializada no {@link JsonGenerator} e esquecida,
+ * e o buffer é enviado a cada {@code http.streaming.linhas-por-envio} linhas (resposta chunked).
+ * A memória por requisição fica constante, qualquer que seja o tamanho do resultado.
+ * </p>
+ * A consulta roda numa transação só de leitura na thread da resposta assíncrona (o cursor precisa dela aberta).
+ */
+@Service
+public class StreamingJsonService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${http.streaming.linhas-por-envio:500}")
+    private int linhasPorEnvio;
+
+    private ObjectWriter writer;
+    private TransactionTemplate leitura;
+
+    @PostConstruct
+    void inicializar() {
+        // Sem flush a cada objeto: o envio ao cliente é controlado por linhasPorEnvio
+        writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+    }
+
+    /**
+     * Monta uma resposta com um array JSON das linhas da consulta.
+     *
+     * @param consulta Abre o stream do repositório (chamado dentro da transação e fechado no fim).
+     * @return Corpo da resposta, escrito quando o Spring MVC entregar o OutputStream.
+     */
+    public <T> StreamingResponseBody array(Supplier<Stream<T>> consulta) {
+        return saida -> leitura.executeWithoutResult(status -> {
+            try (Stream<T> linhas = consulta.get();
+                 JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // O container fecha a resposta
+                gerador.writeStartArray();
+                int pendentes = 0;
+                for (Iterator<T> it = linhas.iterator(); it.hasNext(); ) {
+                    writer.writeValue(gerador, it.next());
+                    if (++pendentes == linhasPorEnvio) {
+                        gerador.flush();
+                        pendentes = 0;
+                    }
+                }
+                gerador.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao enviar a resposta em stream", e);
+            }
+        });
+    }
+}
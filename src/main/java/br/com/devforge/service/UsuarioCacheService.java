@@ -0,0 +1,98 @@
+package br.com.devforge.service;
+
+import br.com.devforge.dto.UsuarioSnapshot;
+import br.com.devforge.dto.SaldoXp;
+import br.com.devforge.event.UsuarioAlteradoEvent;
+import br.com.devforge.event.XpAplicadoEvent;
+import br.com.devforge.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache curto e limitado de identidade: email (ou login do GitHub sem email público) → {@link UsuarioSnapshot}.
+ * <p>
+ * Atende o login OAuth2 e o {@code GET /users/me} sem ir ao banco em rajadas de login
+ * (início de evento ou de aula) e no polling do frontend.
+ * Toda gravação de usuário neste nó atualiza a entrada após o commit ({@link UsuarioAlteradoEvent});
+ * a expiração ({@code usuarios.cache.ttl}) limita o atraso para alterações feitas por outros nós.
+ * </p>
+ */
+@Service
+public class UsuarioCacheService {
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${usuarios.cache.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${usuarios.cache.max-entradas:10000}")
+    private long maxEntradas;
+
+    private Cache<String, UsuarioSnapshot> cache;
+
+    @PostConstruct
+    void inicializar() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios");
+    }
+
+    /**
+     * Busca o usuário pelo email, indo ao banco só quando não está no cache.
+     * Usuários inexistentes não são guardados (o próximo login cria o cadastro).
+     */
+    public Optional<UsuarioSnapshot> buscarPorEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(email, chave -> repository.findByEmail(chave)
+                .map(UsuarioSnapshot::de)
+                .orElse(null)));
+    }
+
+    /**
+     * Mantém o cache igual ao banco depois de qualquer gravação de usuário.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent evento) {
+        String email = evento.usuario().getEmail();
+        if (email == null) {
+            return;
+        }
+        if (evento.removido()) {
+            cache.invalidate(email);
+        } else {
+            cache.put(email, UsuarioSnapshot.de(evento.usuario()));
+        }
+    }
+
+    /**
+     * XP aplicado pelo ledger: descarta as entradas para o próximo {@code /users/me} ler o valor novo.
+     */
+    @EventListener
+    public void onXpAplicado(XpAplicadoEvent evento) {
+        for (SaldoXp saldo : evento.saldos()) {
+            if (saldo.email() != null) {
+                cache.invalidate(saldo.email());
+            }
+        }
+    }
+}
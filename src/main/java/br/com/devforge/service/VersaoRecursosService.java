@@ -0,0 +1,92 @@
+package br.com.devforge.service;
+
+import br.com.devforge.event.SolucoesAlteradasEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versões das leituras públicas mais consultadas pelo frontend, usadas como ETag.
+ * <p>
+ * O catálogo usa a versão do {@link CatalogoService} (muda a cada {@code DesafioAlteradoEvent}) e a
+ * lista de soluções de cada desafio tem a própria versão, trocada após o commit de cada
+ * {@link SolucoesAlteradasEvent}. Com a versão em mãos o controller responde 304 antes de qualquer
+ * consulta ao banco.
+ * </p>
+ * <p>
+ * As versões ficam na memória do nó. Para um ETag nunca valer para conteúdos diferentes, ele também leva
+ * a época deste processo (aleatória a cada start, então outro nó ou um restart geram outros ETags) e a
+ * janela de tempo atual ({@code http.cache.janela}), que limita quanto tempo um nó pode confirmar
+ * uma versão sem enxergar escritas feitas por outros nós. É o mesmo limite do snapshot do catálogo.
+ * </p>
+ * <p>
+ * O ETag é fraco ({@code W/"..."}): ele identifica a versão dos dados, não os bytes. Assim a mesma versão vale
+ * com e sem gzip, e o Tomcat aceita comprimir a resposta (ele não comprime respostas com ETag forte).
+ * </p>
+ */
+@Service
+public class VersaoRecursosService {
+
+    // Identifica este processo: um restart ou outro nó nunca reaproveita um ETag com outro conteúdo
+    private final String epoca = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    // Fonte das versões das listas de soluções: só cresce, então uma versão nunca se repete
+    private final AtomicLong sequencia = new AtomicLong();
+
+    // Desafio -> versão da lista de soluções (ausente = nenhuma alteração desde o start)
+    private final Map<Long, Long> versaoSolucoes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Value("${http.cache.max-age:5s}")
+    private Duration maxAge;
+
+    @Value("${http.cache.janela:${catalogo.snapshot.max-idade:60s}}")
+    private Duration janela;
+
+    /**
+     * @return ETag das leituras do catálogo ({@code GET /desafios}, facetas e busca).
+     */
+    public String etagCatalogo() {
+        return etag("c", catalogoService.getVersao());
+    }
+
+    /**
+     * @return ETag da lista de soluções de um desafio.
+     */
+    public String etagSolucoes(Long desafioId) {
+        return etag("s" + desafioId, versaoSolucoes.getOrDefault(desafioId, 0L));
+    }
+
+    /**
+     * Cabeçalho Cache-Control das leituras versionadas: caches (navegador, CDN) podem guardar a resposta
+     * por {@code http.cache.max-age} e depois revalidam com o ETag.
+     */
+    public CacheControl cacheControl() {
+        return CacheControl.maxAge(maxAge.toSeconds(), TimeUnit.SECONDS).cachePublic().mustRevalidate();
+    }
+
+    /**
+     * Troca a versão das listas de soluções alteradas. Roda após o commit, para nenhuma leitura
+     * concorrente guardar os dados antigos com a versão nova; sem transação ativa roda na hora.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSolucoesAlteradas(SolucoesAlteradasEvent evento) {
+        evento.desafioIds().forEach(id -> versaoSolucoes.put(id, sequencia.incrementAndGet()));
+    }
+
+    private String etag(String recurso, long versao) {
+        long janelaAtual = System.currentTimeMillis() / Math.max(janela.toMillis(), 1);
+        return "W/\"" + recurso + "-" + epoca + "-" + versao + "-" + janelaAtual + "\"";
+    }
+}
@@ -0,0 +1,217 @@
+package br.com.devforge.service;
+
+import br.com.devforge.dto.AuditoriaXp;
+import br.com.devforge.dto.SaldoXp;
+import br.com.devforge.event.XpAplicadoEvent;
+import br.com.devforge.model.EventoXp;
+import br.com.devforge.model.Usuario;
+import br.com.devforge.repository.EventoXpRepository;
+import br.com.devforge.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ledger de XP: toda concessão de XP vira um lançamento ({@link EventoXp}) e um agregador
+ * em segundo plano soma os lançamentos ao {@code xpTotal} dos usuários.
+ * <p>
+ * Registrar um ganho é só um INSERT: não carrega nem trava o usuário. O agregador pega os pendentes
+ * em lotes, agrupa por usuário e aplica cada soma com um UPDATE atômico ({@code xp_total = xp_total + ?}),
+ * então ganhos simultâneos nunca se perdem. O nível é recalculado uma vez por usuário por lote.
+ * </p>
+ * <p>
+ * Marcar os lançamentos como aplicados é feito na mesma transação e só vale para os que ainda estavam
+ * pendentes: se dois nós pegarem o mesmo lote, um deles desiste e nada é aplicado duas vezes.
+ * </p>
+ */
+@Service
+public class XpService {
+
+    private static final Logger LOGGER = Logger.getLogger(XpService.class.getName());
+
+    @Autowired
+    private EventoXpRepository eventoXpRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Com o ledger vazio cada ciclo é só uma consulta sem resultado; desligar serve de chave de emergência. */
+    @Value("${xp.agregador.habilitado:true}")
+    private boolean agregadorHabilitado;
+
+    @Value("${xp.agregador.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    /** Lotes cheios seguidos processados por execução, para não monopolizar a thread do agendador. */
+    @Value("${xp.agregador.max-lotes:20}")
+    private int maxLotes;
+
+    private Counter aplicados;
+    private Timer timerLote;
+
+    @PostConstruct
+    void registrarMetricas() {
+        aplicados = Counter.builder("xp.ledger.aplicados")
+                .description("Lançamentos de XP aplicados aos usuários")
+                .register(meterRegistry);
+        timerLote = Timer.builder("xp.ledger.lote")
+                .description("Tempo para aplicar um lote do ledger de XP")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra um ganho de XP. O usuário recebe os pontos no próximo ciclo do agregador ({@code xp.agregador.habilitado}).
+     *
+     * @param usuarioId ID do usuário.
+     * @param xp        Quantidade de XP (negativa para estorno).
+     * @param motivo    Origem do ganho (ex: SOLUCAO_APROVADA).
+     * @return O lançamento gravado.
+     */
+    public EventoXp registrar(Long usuarioId, int xp, String motivo) {
+        EventoXp evento = new EventoXp();
+        evento.setUsuarioId(usuarioId);
+        evento.setXp(xp);
+        evento.setMotivo(motivo);
+        return eventoXpRepository.save(evento);
+    }
+
+    /**
+     * Aplica os lançamentos pendentes, lote a lote, enquanto os lotes vierem cheios.
+     */
+    @Scheduled(fixedDelayString = "${xp.agregador.intervalo:5s}", initialDelayString = "${xp.agregador.intervalo:5s}")
+    public void aplicarPendentes() {
+        if (!agregadorHabilitado) {
+            return;
+        }
+        for (int i = 0; i < maxLotes; i++) {
+            try {
+                if (aplicarLote() < tamanhoLote) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // Nada foi aplicado (rollback); os lançamentos continuam pendentes para o próximo ciclo
+                LOGGER.log(Level.WARNING, "Erro ao aplicar lote do ledger de XP: " + e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aplica um lote de lançamentos pendentes.
+     *
+     * @return Quantidade de lançamentos lidos no lote.
+     */
+    int aplicarLote() {
+        long inicio = System.nanoTime();
+        LoteAplicado lote = transactionTemplate.execute(status -> {
+            List<EventoXp> pendentes = eventoXpRepository.buscarPendentes(Limit.of(tamanhoLote));
+            if (pendentes.isEmpty()) {
+                return new LoteAplicado(0, List.of());
+            }
+
+            List<Long> ids = pendentes.stream().map(EventoXp::getId).toList();
+            if (eventoXpRepository.marcarAplicados(ids, LocalDateTime.now()) != ids.size()) {
+                status.setRollbackOnly(); // Outro nó pegou parte do lote antes
+                return new LoteAplicado(0, List.of());
+            }
+
+            // Agrupado por usuário e em ordem de ID: um UPDATE por usuário e locks sempre na mesma ordem
+            Map<Long, Integer> somaPorUsuario = new TreeMap<>();
+            pendentes.forEach(evento -> somaPorUsuario.merge(evento.getUsuarioId(), evento.getXp(), Integer::sum));
+            somaPorUsuario.forEach(usuarioRepository::incrementarXp);
+
+            List<SaldoXp> saldos = recalcularNiveis(somaPorUsuario.keySet());
+            return new LoteAplicado(pendentes.size(), saldos);
+        });
+
+        if (lote.quantidade() > 0) {
+            aplicados.increment(lote.quantidade());
+            timerLote.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            // Só depois do commit: ranking e cache leem o XP já gravado
+            eventPublisher.publishEvent(new XpAplicadoEvent(lote.saldos()));
+        }
+        return lote.quantidade();
+    }
+
+    /**
+     * Compara o XP do usuário com a soma do ledger, sem alterar nada.
+     * Usuário e ledger são lidos na mesma transação, no primário: uma réplica atrasada mostraria
+     * uma divergência que não existe (ex: logo depois de um replay).
+     *
+     * @throws RuntimeException se o usuário não existir.
+     */
+    public AuditoriaXp auditar(Long usuarioId) {
+        return transactionTemplate.execute(status -> {
+            Usuario usuario = usuarioRepository.findById(usuarioId)
+                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + usuarioId));
+            int xpAtual = usuario.getXpTotal() == null ? 0 : usuario.getXpTotal();
+            return AuditoriaXp.de(usuarioId, xpAtual,
+                    eventoXpRepository.somarAplicados(usuarioId), eventoXpRepository.somarPendentes(usuarioId));
+        });
+    }
+
+    /**
+     * Reconstrói o XP e o nível do usuário a partir dos lançamentos aplicados do ledger.
+     * Os pendentes continuam com o agregador. O XP anterior ao ledger está no lançamento {@code SALDO_INICIAL}
+     * de cada usuário (migração V6), então o replay não o perde.
+     *
+     * @return A auditoria depois do replay.
+     * @throws RuntimeException se o usuário não existir.
+     */
+    public AuditoriaXp replay(Long usuarioId) {
+        List<SaldoXp> saldos = transactionTemplate.execute(status -> {
+            if (usuarioRepository.recalcularXpPeloLedger(usuarioId) == 0) {
+                throw new RuntimeException("Usuário não encontrado com ID: " + usuarioId);
+            }
+            return recalcularNiveis(List.of(usuarioId));
+        });
+        eventPublisher.publishEvent(new XpAplicadoEvent(saldos));
+        LOGGER.info("Replay do ledger de XP para o usuário " + usuarioId + ": " + saldos.getFirst().xpTotal() + " XP.");
+        return auditar(usuarioId);
+    }
+
+    /**
+     * Lê o XP já somado e grava o nível novo só de quem mudou de faixa.
+     */
+    private List<SaldoXp> recalcularNiveis(Collection<Long> usuarioIds) {
+        List<SaldoXp> saldos = new ArrayList<>();
+        for (SaldoXp saldo : usuarioRepository.buscarSaldos(usuarioIds)) {
+            String nivel = Usuario.calcularNivel(saldo.xpTotal());
+            if (!nivel.equals(saldo.nivel())) {
+                usuarioRepository.atualizarNivel(saldo.usuarioId(), nivel);
+            }
+            saldos.add(new SaldoXp(saldo.usuarioId(), saldo.email(), saldo.xpTotal(), nivel));
+        }
+        return saldos;
+    }
+
+    private record LoteAplicado(int quantidade, List<SaldoXp> saldos) {
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.dto.DesafioDocumento;
+import br.com.devforge.dto.DesafioEncontrado;
+import br.com.devforge.dto.PaginaBusca;
+import br.com.devforge.event.DesafioAlteradoEvent;
+import br.com.devforge.repository.DesafioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Busca textual dos desafios aprovados ({@code GET /desafios/search?q=}).
+ * <p>
+ * Os desafios ficam num {@link IndiceInvertido} em memória, então uma consulta não vai ao banco
+ * (nem faz {@code LIKE} nos campos TEXT). O índice é montado no startup com uma varredura em stream
+ * dos aprovados e depois acompanha cada {@link DesafioAlteradoEvent}: desafio aprovado entra (ou é
+ * reindexado), qualquer outro status sai. O acesso concorrente fica com o {@link IndiceProtegido}.
+ * </p>
+ */
+@Service
+public class BuscaDesafiosService {
+
+    private static final Logger LOGGER = Logger.getLogger(BuscaDesafiosService.class.getName());
+
+    public static final int TAMANHO_MAXIMO = 50;
+
+    // Profundidade máxima da paginação (ninguém passa da página 20 de uma busca)
+    public static final int RESULTADOS_MAXIMOS = 1000;
+
+    @Autowired
+    private DesafioRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final IndiceProtegido<IndiceInvertido, DesafioDocumento> indice = new IndiceProtegido<>(new IndiceInvertido(),
+            DesafioDocumento::de, IndiceInvertido::indexar, IndiceInvertido::remover);
+
+    private Timer timerConsulta;
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("busca.desafios.documentos", indice, i -> i.ler(IndiceInvertido::tamanho))
+                .description("Desafios no índice da busca textual")
+                .register(meterRegistry);
+        Gauge.builder("busca.desafios.termos", indice, i -> i.ler(IndiceInvertido::quantidadeTermos))
+                .description("Termos distintos no índice da busca textual")
+                .register(meterRegistry);
+        timerConsulta = Timer.builder("busca.desafios.consulta")
+                .description("Tempo de uma consulta no índice da busca textual")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Monta o índice a partir do banco, com os documentos completos (inclusive contexto e requisitos).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        indice.carregar(transactionTemplate, () -> repository.streamDocumentos("APROVADO"));
+        LOGGER.info("Índice de busca montado com " + indice.ler(IndiceInvertido::tamanho) + " desafio(s) e "
+                + indice.ler(IndiceInvertido::quantidadeTermos) + " termo(s) em " + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * Mantém o índice igual ao catálogo público: só desafios aprovados podem ser encontrados.
+     */
+    @EventListener
+    public void onDesafioAlterado(DesafioAlteradoEvent evento) {
+        indice.aplicar(evento.desafio());
+    }
+
+    /**
+     * Busca desafios aprovados pelo título, stack, nível, contexto e requisitos.
+     * As palavras podem estar incompletas ("micro" encontra "microsserviços").
+     *
+     * @param q       Texto da busca.
+     * @param pagina  Número da página (começa em 0).
+     * @param tamanho Itens por página (limitado a {@link #TAMANHO_MAXIMO}).
+     * @return A página pedida, do mais relevante para o menos relevante.
+     */
+    public PaginaBusca buscar(String q, int pagina, int tamanho) {
+        int tamanhoPagina = Math.clamp(tamanho, 1, TAMANHO_MAXIMO);
+        int inicio = Math.clamp((long) Math.max(pagina, 0) * tamanhoPagina, 0, RESULTADOS_MAXIMOS);
+        int fim = Math.min(inicio + tamanhoPagina, RESULTADOS_MAXIMOS);
+
+        IndiceInvertido.Resultado resultado = timerConsulta.record(() -> indice.ler(i -> i.buscar(q, fim)));
+
+        List<DesafioEncontrado> itens = resultado.itens();
+        return new PaginaBusca(q, List.copyOf(itens.subList(Math.min(inicio, itens.size()), itens.size())),
+                Math.max(pagina, 0), tamanhoPagina, resultado.total());
+    }
+}
@@ -0,0 +1,236 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.dto.DesafioDocumento;
+import br.com.devforge.dto.DesafioEncontrado;
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.service.moderacao.AutomatoTermos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido em memória para a busca textual de desafios.
+ * <p>
+ * Cada termo aponta para os desafios que o contêm e quantas vezes aparece em cada um, ponderado pelo campo
+ * (título e stack pesam mais que o briefing). Os termos ficam num {@link TreeMap}, então a busca por prefixo
+ * ("spr" encontra "spring") percorre só o trecho do mapa com aquele prefixo.
+ * </p>
+ * <p>
+ * A relevância é o BM25: termos raros valem mais que termos comuns, repetir um termo tem retorno decrescente
+ * e textos longos não ganham só por serem longos. Acentos e caixa são ignorados ("integração" = "integracao").
+ * Todos os termos da consulta precisam aparecer no desafio, exatos ou como prefixo.
+ * </p>
+ * Não é thread-safe: o {@link BuscaDesafiosService} acessa o índice através de um {@link IndiceProtegido}.
+ */
+final class IndiceInvertido {
+
+    static final int TAMANHO_MINIMO_TERMO = 2;
+
+    // Quantos termos um prefixo pode expandir (evita que "a" percorra o dicionário inteiro)
+    static final int EXPANSOES_MAXIMAS = 64;
+
+    // Termos expandidos pelo prefixo valem menos que o termo digitado por inteiro
+    static final double PESO_PREFIXO = 0.7;
+
+    // Parâmetros usuais do BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final float PESO_TITULO = 3f;
+    private static final float PESO_STACK = 2f;
+    private static final float PESO_NIVEL = 1f;
+    private static final float PESO_BRIEFING = 1f;
+
+    // Palavras muito frequentes em português que não ajudam a distinguir os desafios
+    private static final Set<String> STOPWORDS = Set.of(
+            "de", "da", "do", "das", "dos", "e", "o", "a", "os", "as", "um", "uma", "uns", "umas",
+            "em", "no", "na", "nos", "nas", "para", "pra", "por", "com", "sem", "que", "se", "ao", "aos",
+            "ou", "seu", "sua", "the", "of", "and", "to");
+
+    // termo -> (id do desafio -> frequência ponderada)
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private double somaComprimentos;
+
+    /**
+     * Indexa um desafio, substituindo a versão anterior se ele já estiver no índice.
+     */
+    void indexar(DesafioDocumento documento) {
+        remover(documento.id());
+
+        Map<String, Float> frequencias = new HashMap<>();
+        contar(documento.titulo(), PESO_TITULO, frequencias);
+        contar(documento.stack(), PESO_STACK, frequencias);
+        contar(documento.nivel(), PESO_NIVEL, frequencias);
+        contar(documento.contexto(), PESO_BRIEFING, frequencias);
+        contar(documento.requisitosFuncionais(), PESO_BRIEFING, frequencias);
+        contar(documento.requisitosTecnicos(), PESO_BRIEFING, frequencias);
+
+        float comprimento = 0;
+        for (Map.Entry<String, Float> frequencia : frequencias.entrySet()) {
+            postings.computeIfAbsent(frequencia.getKey(), t -> new HashMap<>()).put(documento.id(), frequencia.getValue());
+            comprimento += frequencia.getValue();
+        }
+        documentos.put(documento.id(), new Documento(documento.resumo(), frequencias.keySet().toArray(String[]::new), comprimento));
+        somaComprimentos += comprimento;
+    }
+
+    /**
+     * Remove um desafio do índice.
+     *
+     * @return {@code true} se ele estava indexado.
+     */
+    boolean remover(long id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return false;
+        }
+        for (String termo : documento.termos()) {
+            Map<Long, Float> lista = postings.get(termo);
+            lista.remove(id);
+            if (lista.isEmpty()) {
+                postings.remove(termo);
+            }
+        }
+        somaComprimentos -= documento.comprimento();
+        return true;
+    }
+
+    /**
+     * Busca os desafios que contêm todos os termos da consulta.
+     *
+     * @param consulta        Texto digitado pelo usuário.
+     * @param maximoResultados Quantos resultados devolver (os mais relevantes).
+     * @return Os resultados em ordem de relevância (empate pelo ID mais recente) e o total encontrado.
+     */
+    Resultado buscar(String consulta, int maximoResultados) {
+        List<String> termosConsulta = tokenizar(consulta).stream().distinct().toList();
+        if (termosConsulta.isEmpty() || documentos.isEmpty()) {
+            return new Resultado(List.of(), 0);
+        }
+
+        double comprimentoMedio = somaComprimentos / documentos.size();
+        Map<Long, Double> pontuacao = null;
+        for (String termo : termosConsulta) {
+            Map<Long, Double> doTermo = pontuarTermo(termo, comprimentoMedio, pontuacao);
+            if (doTermo.isEmpty()) {
+                return new Resultado(List.of(), 0); // Um termo sem ocorrências zera a consulta (E lógico)
+            }
+            if (pontuacao != null) {
+                Map<Long, Double> anteriores = pontuacao;
+                doTermo.replaceAll((id, valor) -> valor + anteriores.get(id));
+            }
+            pontuacao = doTermo;
+        }
+
+        return new Resultado(melhores(pontuacao, maximoResultados), pontuacao.size());
+    }
+
+    int tamanho() {
+        return documentos.size();
+    }
+
+    int quantidadeTermos() {
+        return postings.size();
+    }
+
+    /**
+     * Pontua um termo da consulta: o próprio termo e os termos do índice que começam com ele.
+     * Para cada desafio vale a melhor expansão, para "java" não contar duas vezes em "java" e "javascript".
+     *
+     * @param candidatos Desafios que atenderam aos termos anteriores ({@code null} no primeiro termo).
+     */
+    private Map<Long, Double> pontuarTermo(String termo, double comprimentoMedio, Map<Long, Double> candidatos) {
+        Map<Long, Double> melhores = new HashMap<>();
+        int expansoes = 0;
+        for (Map.Entry<String, Map<Long, Float>> entrada : postings.tailMap(termo, true).entrySet()) {
+            String termoIndice = entrada.getKey();
+            if (!termoIndice.startsWith(termo) || expansoes++ >= EXPANSOES_MAXIMAS) {
+                break;
+            }
+            double peso = termoIndice.length() == termo.length() ? 1.0 : PESO_PREFIXO;
+            Map<Long, Float> lista = entrada.getValue();
+            double idf = Math.log(1 + (documentos.size() - lista.size() + 0.5) / (lista.size() + 0.5));
+
+            for (Map.Entry<Long, Float> ocorrencia : lista.entrySet()) {
+                Long id = ocorrencia.getKey();
+                if (candidatos != null && !candidatos.containsKey(id)) {
+                    continue;
+                }
+                double frequencia = ocorrencia.getValue();
+                double normalizacao = K1 * (1 - B + B * documentos.get(id).comprimento() / comprimentoMedio);
+                double valor = peso * idf * frequencia * (K1 + 1) / (frequencia + normalizacao);
+                melhores.merge(id, valor, Math::max);
+            }
+        }
+        return melhores;
+    }
+
+    private List<DesafioEncontrado> melhores(Map<Long, Double> pontuacao, int maximo) {
+        Comparator<Map.Entry<Long, Double>> ordem = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey()); // Empate: o ID mais recente fica na frente
+
+        // Heap com os N melhores: o pior deles fica no topo para ser trocado
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(ordem);
+        for (Map.Entry<Long, Double> entrada : pontuacao.entrySet()) {
+            if (heap.size() < maximo) {
+                heap.add(entrada);
+            } else if (maximo > 0 && ordem.compare(entrada, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entrada);
+            }
+        }
+
+        List<DesafioEncontrado> resultado = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<Long, Double> entrada = heap.poll();
+            resultado.add(new DesafioEncontrado(documentos.get(entrada.getKey()).resumo(), entrada.getValue()));
+        }
+        return resultado.reversed();
+    }
+
+    private static void contar(String texto, float peso, Map<String, Float> frequencias) {
+        for (String termo : tokenizar(texto)) {
+            frequencias.merge(termo, peso, Float::sum);
+        }
+    }
+
+    /**
+     * Quebra um texto em termos: minúsculos, sem acento, só letras e dígitos, sem stopwords.
+     */
+    static List<String> tokenizar(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null) {
+            return termos;
+        }
+        StringBuilder atual = new StringBuilder();
+        for (int i = 0; i <= texto.length(); i++) {
+            char c = i < texto.length() ? texto.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                atual.append(AutomatoTermos.normalizar(c));
+            } else if (!atual.isEmpty()) {
+                String termo = atual.toString();
+                if (termo.length() >= TAMANHO_MINIMO_TERMO && !STOPWORDS.contains(termo)) {
+                    termos.add(termo);
+                }
+                atual.setLength(0);
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Resultado de uma consulta: os mais relevantes e o total de desafios encontrados.
+     */
+    record Resultado(List<DesafioEncontrado> itens, int total) {
+    }
+
+    private record Documento(DesafioResumo resumo, String[] termos, float comprimento) {
+    }
+}
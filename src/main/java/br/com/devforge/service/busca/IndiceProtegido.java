@@ -0,0 +1,99 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.event.DesafioAlteradoEvent;
+import br.com.devforge.model.Desafio;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória do catálogo público ({@link IndiceTags}, {@link IndiceInvertido}) atrás de um read/write lock.
+ * <p>
+ * Os índices não são thread-safe: leituras compartilham o read lock; a carga e as atualizações pegam o write lock.
+ * A carga segura o write lock do começo ao fim, então um {@link DesafioAlteradoEvent} que chega durante ela
+ * espera e é aplicado por cima, sem se perder.
+ * </p>
+ *
+ * @param <I> Tipo do índice.
+ * @param <D> Documento que o índice guarda de cada desafio.
+ */
+final class IndiceProtegido<I, D> {
+
+    private final I indice;
+    private final Function<Desafio, D> documento;
+    private final BiConsumer<I, D> indexar;
+    private final ObjLongConsumer<I> remover;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param indice    Índice vazio.
+     * @param documento Documento do índice a partir do desafio recebido no evento.
+     * @param indexar   Inclui (ou substitui) um documento no índice.
+     * @param remover   Tira um desafio do índice pelo ID.
+     */
+    IndiceProtegido(I indice, Function<Desafio, D> documento, BiConsumer<I, D> indexar, ObjLongConsumer<I> remover) {
+        this.indice = indice;
+        this.documento = documento;
+        this.indexar = indexar;
+        this.remover = remover;
+    }
+
+    /**
+     * Carrega os documentos dos desafios aprovados, lidos em stream numa transação nova e só de leitura.
+     */
+    void carregar(TransactionTemplate transactionTemplate, Supplier<Stream<D>> aprovados) {
+        TransactionTemplate leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+        leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        escrever(i -> leitura.executeWithoutResult(status -> {
+            try (Stream<D> documentos = aprovados.get()) {
+                documentos.forEach(d -> indexar.accept(i, d));
+            }
+        }));
+    }
+
+    /**
+     * Mantém o índice igual ao catálogo público: desafio aprovado entra (ou é reindexado), qualquer outro status sai.
+     */
+    void aplicar(Desafio desafio) {
+        escrever(i -> {
+            if ("APROVADO".equals(desafio.getStatus())) {
+                indexar.accept(i, documento.apply(desafio));
+            } else {
+                remover.accept(i, desafio.getId());
+            }
+        });
+    }
+
+    /**
+     * Lê o índice sob o read lock.
+     */
+    <T> T ler(Function<I, T> leitura) {
+        Lock leituraLock = lock.readLock();
+        leituraLock.lock();
+        try {
+            return leitura.apply(indice);
+        } finally {
+            leituraLock.unlock();
+        }
+    }
+
+    private void escrever(Consumer<I> escrita) {
+        Lock escritaLock = lock.writeLock();
+        escritaLock.lock();
+        try {
+            escrita.accept(indice);
+        } finally {
+            escritaLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.service.moderacao.AutomatoTermos;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória das tecnologias ({@code Desafio.stack}) e níveis dos desafios.
+ * <p>
+ * O campo stack é texto livre ("Java, Spring Boot, Docker"). Aqui cada desafio ganha uma posição fixa
+ * (slot) e cada tag normalizada aponta para um {@link BitSet} com os slots dos desafios que a usam.
+ * Filtrar por várias tags é um AND/OR de bitmaps, e contar uma faceta é o {@code cardinality()}
+ * da interseção, sem percorrer os desafios nem o banco.
+ * </p>
+ * Não é thread-safe: o {@link IndiceTagsService} acessa o índice através de um {@link IndiceProtegido}.
+ */
+final class IndiceTags {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[,;/|]");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final List<Entrada> entradas = new ArrayList<>(); // Por slot (null = livre)
+    private final BitSet ocupados = new BitSet();
+
+    private final Map<String, BitSet> porTag = new HashMap<>();
+    private final Map<String, BitSet> porNivel = new HashMap<>();
+
+    /**
+     * Indexa um desafio, substituindo a versão anterior se ele já estiver no índice.
+     */
+    void indexar(DesafioResumo desafio) {
+        remover(desafio.id());
+
+        int slot = ocupados.nextClearBit(0); // Reaproveita slots liberados para os bitmaps não crescerem à toa
+        List<String> tags = normalizarTags(desafio.stack());
+        String nivel = normalizarNivel(desafio.nivel());
+
+        ocupados.set(slot);
+        slotPorId.put(desafio.id(), slot);
+        Entrada entrada = new Entrada(desafio, tags.toArray(String[]::new), nivel);
+        if (slot == entradas.size()) {
+            entradas.add(entrada);
+        } else {
+            entradas.set(slot, entrada);
+        }
+
+        tags.forEach(tag -> porTag.computeIfAbsent(tag, t -> new BitSet()).set(slot));
+        if (nivel != null) {
+            porNivel.computeIfAbsent(nivel, n -> new BitSet()).set(slot);
+        }
+    }
+
+    /**
+     * Remove um desafio do índice.
+     *
+     * @return {@code true} se ele estava indexado.
+     */
+    boolean remover(long id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        Entrada entrada = entradas.set(slot, null);
+        ocupados.clear(slot);
+        for (String tag : entrada.tags()) {
+            limpar(porTag, tag, slot);
+        }
+        if (entrada.nivel() != null) {
+            limpar(porNivel, entrada.nivel(), slot);
+        }
+        return true;
+    }
+
+    /**
+     * Monta o bitmap dos desafios que atendem aos filtros.
+     *
+     * @param tags  Tags já normalizadas (vazio = todas).
+     * @param todas {@code true} para exigir todas as tags (AND), {@code false} para qualquer uma (OR).
+     * @param nivel Nível já normalizado, ou {@code null} para não filtrar.
+     * @return Um bitmap novo, que pode ser alterado pelo chamador.
+     */
+    BitSet filtrar(Collection<String> tags, boolean todas, String nivel) {
+        BitSet selecao = (BitSet) ocupados.clone();
+        if (!tags.isEmpty()) {
+            BitSet porTags = todas ? (BitSet) ocupados.clone() : new BitSet();
+            for (String tag : tags) {
+                BitSet daTag = porTag.getOrDefault(tag, new BitSet());
+                if (todas) {
+                    porTags.and(daTag);
+                } else {
+                    porTags.or(daTag);
+                }
+            }
+            selecao.and(porTags);
+        }
+        if (nivel != null) {
+            selecao.and(porNivel.getOrDefault(nivel, new BitSet()));
+        }
+        return selecao;
+    }
+
+    /**
+     * Uma página da seleção, ordenada por ID crescente a partir do cursor (mesma ordem da listagem do banco).
+     *
+     * @param selecao Bitmap retornado por {@link #filtrar}.
+     * @param after   Último ID da página anterior (0 para a primeira página).
+     * @param limite  Quantidade máxima de desafios retornados.
+     */
+    List<DesafioResumo> pagina(BitSet selecao, long after, int limite) {
+        // Heap com os "limite" menores IDs depois do cursor: o maior fica no topo para ser trocado
+        PriorityQueue<DesafioResumo> heap = new PriorityQueue<>(Comparator.comparing(DesafioResumo::id).reversed());
+        for (int slot = selecao.nextSetBit(0); slot >= 0; slot = selecao.nextSetBit(slot + 1)) {
+            DesafioResumo desafio = entradas.get(slot).desafio();
+            if (desafio.id() <= after) {
+                continue;
+            }
+            if (heap.size() < limite) {
+                heap.add(desafio);
+            } else if (limite > 0 && desafio.id() < heap.peek().id()) {
+                heap.poll();
+                heap.add(desafio);
+            }
+        }
+        List<DesafioResumo> resultado = new ArrayList<>(heap);
+        resultado.sort(Comparator.comparing(DesafioResumo::id));
+        return resultado;
+    }
+
+    /**
+     * Quantos desafios da seleção usam cada tag, da mais usada para a menos usada.
+     */
+    Map<String, Integer> contarTags(BitSet selecao) {
+        return contar(porTag, selecao);
+    }
+
+    /**
+     * Quantos desafios da seleção existem em cada nível, do mais comum para o menos comum.
+     */
+    Map<String, Integer> contarNiveis(BitSet selecao) {
+        return contar(porNivel, selecao);
+    }
+
+    int tamanho() {
+        return slotPorId.size();
+    }
+
+    int quantidadeTags() {
+        return porTag.size();
+    }
+
+    /**
+     * Quebra o campo stack em tags: separadas por vírgula (ou ; / |), minúsculas, sem acento
+     * e com os espaços internos normalizados ("Spring  Boot" = "spring boot").
+     * Tags repetidas contam uma vez só.
+     */
+    static List<String> normalizarTags(String stack) {
+        if (stack == null) {
+            return List.of();
+        }
+        TreeSet<String> tags = new TreeSet<>();
+        for (String parte : SEPARADORES.split(stack)) {
+            String tag = normalizarTag(parte);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        return List.copyOf(tags);
+    }
+
+    static String normalizarTag(String tag) {
+        if (tag == null || tag.isBlank()) {
+            return null;
+        }
+        char[] chars = ESPACOS.matcher(tag.trim()).replaceAll(" ").toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = AutomatoTermos.normalizar(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    static String normalizarNivel(String nivel) {
+        return nivel == null || nivel.isBlank() ? null : nivel.trim().toUpperCase();
+    }
+
+    private static Map<String, Integer> contar(Map<String, BitSet> bitmaps, BitSet selecao) {
+        List<Map.Entry<String, Integer>> contagens = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entrada : bitmaps.entrySet()) {
+            BitSet intersecao = (BitSet) entrada.getValue().clone();
+            intersecao.and(selecao);
+            int quantidade = intersecao.cardinality();
+            if (quantidade > 0) {
+                contagens.add(Map.entry(entrada.getKey(), quantidade));
+            }
+        }
+        contagens.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        contagens.forEach(c -> resultado.put(c.getKey(), c.getValue()));
+        return resultado;
+    }
+
+    private static void limpar(Map<String, BitSet> bitmaps, String chave, int slot) {
+        BitSet bitmap = bitmaps.get(chave);
+        bitmap.clear(slot);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(chave);
+        }
+    }
+
+    private record Entrada(DesafioResumo desafio, String[] tags, String nivel) {
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.dto.Faceta;
+import br.com.devforge.dto.FacetasCatalogo;
+import br.com.devforge.event.DesafioAlteradoEvent;
+import br.com.devforge.repository.DesafioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Filtro por tecnologia e facetas do catálogo público, servidos pelo {@link IndiceTags} em memória.
+ * <p>
+ * Só desafios aprovados entram no índice. Ele é montado no startup com uma varredura em stream
+ * dos resumos (sem os campos TEXT) e depois acompanha cada {@link DesafioAlteradoEvent}
+ * (o acesso concorrente fica com o {@link IndiceProtegido}).
+ * </p>
+ */
+@Service
+public class IndiceTagsService {
+
+    private static final Logger LOGGER = Logger.getLogger(IndiceTagsService.class.getName());
+
+    @Autowired
+    private DesafioRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final IndiceProtegido<IndiceTags, DesafioResumo> indice = new IndiceProtegido<>(new IndiceTags(),
+            desafio -> new DesafioResumo(desafio.getId(), desafio.getTitulo(), desafio.getNivel(),
+                    desafio.getStack(), desafio.getDataCriacao()),
+            IndiceTags::indexar, IndiceTags::remover);
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("catalogo.tags.desafios", indice, i -> i.ler(IndiceTags::tamanho))
+                .description("Desafios no índice de tecnologias do catálogo")
+                .register(meterRegistry);
+        Gauge.builder("catalogo.tags.quantidade", indice, i -> i.ler(IndiceTags::quantidadeTags))
+                .description("Tecnologias distintas no índice do catálogo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Monta o índice a partir do banco, só com os resumos (sem os campos TEXT).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        indice.carregar(transactionTemplate, () -> repository.streamResumos("APROVADO"));
+        LOGGER.info("Índice de tecnologias montado com " + indice.ler(IndiceTags::tamanho) + " desafio(s) e "
+                + indice.ler(IndiceTags::quantidadeTags) + " tag(s) em " + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+    }
+
+    /**
+     * Atualiza o índice antes dos outros ouvintes: o {@link br.com.devforge.service.CatalogoService}
+     * invalida os snapshots no mesmo evento, e a página remontada já precisa enxergar o índice novo.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDesafioAlterado(DesafioAlteradoEvent evento) {
+        indice.aplicar(evento.desafio());
+    }
+
+    /**
+     * Uma página dos desafios aprovados que usam as tecnologias informadas, por ID crescente.
+     *
+     * @param stacks Tecnologias já normalizadas ({@link #normalizarFiltro}).
+     * @param modo   AND (todas) ou OR (qualquer uma).
+     * @param nivel  Nível em caixa alta, ou {@code null} para não filtrar.
+     * @param after  Último ID da página anterior (0 para a primeira página).
+     * @param limite Quantidade máxima de desafios retornados.
+     */
+    public List<DesafioResumo> buscarPagina(List<String> stacks, ModoCombinacao modo, String nivel, long after, int limite) {
+        return indice.ler(i -> i.pagina(i.filtrar(stacks, modo != ModoCombinacao.OR, nivel), after, limite));
+    }
+
+    /**
+     * Conta os desafios aprovados por tecnologia e por nível, dentro dos filtros informados
+     * (sem filtros, conta o catálogo inteiro).
+     *
+     * @param stacks (Opcional) Tecnologias selecionadas.
+     * @param modo   AND (todas) ou OR (qualquer uma).
+     * @param nivel  (Opcional) Nível selecionado.
+     */
+    public FacetasCatalogo facetas(Collection<String> stacks, ModoCombinacao modo, String nivel) {
+        List<String> tags = normalizarFiltro(stacks);
+        String nivelNormalizado = IndiceTags.normalizarNivel(nivel);
+        return indice.ler(i -> {
+            BitSet selecao = i.filtrar(tags, modo != ModoCombinacao.OR, nivelNormalizado);
+            return new FacetasCatalogo(selecao.cardinality(),
+                    facetas(i.contarTags(selecao)),
+                    facetas(i.contarNiveis(selecao)));
+        });
+    }
+
+    /**
+     * Normaliza as tecnologias de um filtro do mesmo jeito que o campo stack é indexado.
+     * Aceita tanto {@code ?stack=java&stack=docker} quanto {@code ?stack=java,docker}.
+     *
+     * @return As tags distintas em ordem alfabética (vazio se nenhuma foi informada).
+     */
+    public static List<String> normalizarFiltro(Collection<String> stacks) {
+        if (stacks == null) {
+            return List.of();
+        }
+        return stacks.stream()
+                .filter(Objects::nonNull)
+                .flatMap(stack -> IndiceTags.normalizarTags(stack).stream())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private static List<Faceta> facetas(Map<String, Integer> contagens) {
+        return contagens.entrySet().stream()
+                .map(c -> new Faceta(c.getKey(), c.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.devforge.service.busca;
+
+/**
+ * Como combinar várias tecnologias no filtro do catálogo ({@code ?stack=java&stack=docker&modo=OR}).
+ */
+public enum ModoCombinacao {
+
+    /** O desafio precisa usar todas as tecnologias informadas. */
+    AND,
+
+    /** Basta usar uma das tecnologias informadas. */
+    OR
+}
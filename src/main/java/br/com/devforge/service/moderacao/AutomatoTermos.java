@@ -0,0 +1,234 @@
+package br.com.devforge.service.moderacao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Automato de Aho-Corasick compilado a partir da blocklist de moderação.
+ * <p>
+ * Todos os termos são compilados uma única vez em uma trie com links de falha.
+ * A busca percorre o texto em uma só passada, e o custo depende do tamanho do texto
+ * (mais a quantidade de ocorrências), não da quantidade de termos da lista.
+ * </p>
+ * <p>
+ * A comparação ignora caixa e acentos do Latin-1 (ex: "Compre Já" casa com "compre ja").
+ * Com {@code limitePalavra} ativo, um termo só conta se não estiver colado em outra letra
+ * ou dígito, evitando falsos positivos em palavras compostas (ex: "bet" em "alfabeto").
+ * </p>
+ * A instância é imutável após a compilação e pode ser usada por várias threads ao mesmo tempo.
+ */
+public final class AutomatoTermos {
+
+    private static final String ACENTUADOS = "àáâãäåçèéêëìíîïðñòóôõöøùúûüýÿ";
+    private static final String SEM_ACENTO = "aaaaaaceeeeiiiidnoooooouuuuyy";
+
+    // Tabela de normalização para os primeiros 256 caracteres (ASCII + Latin-1)
+    private static final char[] NORMALIZACAO_LATIN1 = new char[256];
+
+    static {
+        for (char c = 0; c < NORMALIZACAO_LATIN1.length; c++) {
+            char minusculo = Character.toLowerCase(c);
+            int indice = ACENTUADOS.indexOf(minusculo);
+            NORMALIZACAO_LATIN1[c] = indice >= 0 ? SEM_ACENTO.charAt(indice) : minusculo;
+        }
+    }
+
+    private final String[] termos;
+    private final boolean limitePalavra;
+
+    // Transições em formato compacto: os filhos do estado s ficam em [inicioFilhos[s], inicioFilhos[s + 1])
+    private final int[] inicioFilhos;
+    private final char[] rotulos;
+    private final int[] destinos;
+
+    private final int[] falha;      // Link de falha (maior sufixo próprio que também é prefixo na trie)
+    private final int[] saida;      // Próximo estado terminal na cadeia de falha (0 = nenhum)
+    private final int[] termoFinal; // Índice do termo que termina neste estado (-1 = nenhum)
+
+    private AutomatoTermos(String[] termos, boolean limitePalavra, int[] inicioFilhos, char[] rotulos,
+                           int[] destinos, int[] falha, int[] saida, int[] termoFinal) {
+        this.termos = termos;
+        this.limitePalavra = limitePalavra;
+        this.inicioFilhos = inicioFilhos;
+        this.rotulos = rotulos;
+        this.destinos = destinos;
+        this.falha = falha;
+        this.saida = saida;
+        this.termoFinal = termoFinal;
+    }
+
+    /**
+     * Compila a lista de termos em um automato.
+     * Termos vazios são ignorados e termos repetidos (após normalização) contam uma vez só.
+     *
+     * @param termosBrutos  Termos da blocklist, como estão no arquivo.
+     * @param limitePalavra Se {@code true}, só reconhece termos que formam palavras inteiras.
+     */
+    public static AutomatoTermos compilar(Collection<String> termosBrutos, boolean limitePalavra) {
+        Map<String, Integer> indicePorTermo = new LinkedHashMap<>();
+        for (String bruto : termosBrutos) {
+            String termo = normalizar(bruto.trim());
+            if (!termo.isEmpty()) {
+                indicePorTermo.putIfAbsent(termo, indicePorTermo.size());
+            }
+        }
+
+        // 1. Monta a trie (os filhos ficam ordenados para permitir busca binária depois)
+        List<TreeMap<Character, Integer>> filhos = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        filhos.add(new TreeMap<>());
+        terminal.add(-1);
+
+        for (Map.Entry<String, Integer> entrada : indicePorTermo.entrySet()) {
+            int estado = 0;
+            for (char c : entrada.getKey().toCharArray()) {
+                Integer proximo = filhos.get(estado).get(c);
+                if (proximo == null) {
+                    proximo = filhos.size();
+                    filhos.add(new TreeMap<>());
+                    terminal.add(-1);
+                    filhos.get(estado).put(c, proximo);
+                }
+                estado = proximo;
+            }
+            terminal.set(estado, entrada.getValue());
+        }
+
+        int totalEstados = filhos.size();
+        int[] inicioFilhos = new int[totalEstados + 1];
+        char[] rotulos = new char[totalEstados - 1];
+        int[] destinos = new int[totalEstados - 1];
+        int[] termoFinal = new int[totalEstados];
+
+        int posicao = 0;
+        for (int estado = 0; estado < totalEstados; estado++) {
+            inicioFilhos[estado] = posicao;
+            termoFinal[estado] = terminal.get(estado);
+            for (Map.Entry<Character, Integer> filho : filhos.get(estado).entrySet()) {
+                rotulos[posicao] = filho.getKey();
+                destinos[posicao] = filho.getValue();
+                posicao++;
+            }
+        }
+        inicioFilhos[totalEstados] = posicao;
+
+        // 2. Calcula os links de falha e de saída em largura (BFS)
+        int[] falha = new int[totalEstados];
+        int[] saida = new int[totalEstados];
+        String[] termos = indicePorTermo.keySet().toArray(String[]::new);
+        AutomatoTermos automato = new AutomatoTermos(termos, limitePalavra, inicioFilhos, rotulos,
+                destinos, falha, saida, termoFinal);
+
+        Deque<Integer> fila = new ArrayDeque<>();
+        for (int i = inicioFilhos[0]; i < inicioFilhos[1]; i++) {
+            fila.add(destinos[i]); // Filhos da raiz falham para a raiz
+        }
+        while (!fila.isEmpty()) {
+            int estado = fila.poll();
+            for (int i = inicioFilhos[estado]; i < inicioFilhos[estado + 1]; i++) {
+                char c = rotulos[i];
+                int filho = destinos[i];
+
+                int f = falha[estado];
+                int transicao;
+                while ((transicao = automato.transicao(f, c)) < 0 && f != 0) {
+                    f = falha[f];
+                }
+                falha[filho] = transicao < 0 ? 0 : transicao;
+                saida[filho] = termoFinal[falha[filho]] >= 0 ? falha[filho] : saida[falha[filho]];
+                fila.add(filho);
+            }
+        }
+
+        return automato;
+    }
+
+    /**
+     * Procura todos os termos no texto e adiciona as ocorrências na lista informada.
+     *
+     * @param campo       Nome do campo analisado (vai junto em cada ocorrência).
+     * @param texto       Conteúdo do campo. {@code null} é tratado como vazio.
+     * @param ocorrencias Lista que recebe as ocorrências encontradas, na ordem em que terminam no texto.
+     */
+    public void buscar(String campo, CharSequence texto, List<OcorrenciaTermo> ocorrencias) {
+        if (texto == null) {
+            return;
+        }
+        int estado = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            estado = avancar(estado, normalizar(texto.charAt(i)));
+
+            int terminal = termoFinal[estado] >= 0 ? estado : saida[estado];
+            while (terminal > 0) {
+                String termo = termos[termoFinal[terminal]];
+                int inicio = i - termo.length() + 1;
+                if (!limitePalavra || isPalavraInteira(texto, inicio, i + 1)) {
+                    ocorrencias.add(new OcorrenciaTermo(termo, campo, inicio));
+                }
+                terminal = saida[terminal];
+            }
+        }
+    }
+
+    /**
+     * @return Quantidade de termos distintos compilados no automato.
+     */
+    public int quantidadeTermos() {
+        return termos.length;
+    }
+
+    private int avancar(int estado, char c) {
+        int proximo;
+        while ((proximo = transicao(estado, c)) < 0 && estado != 0) {
+            estado = falha[estado];
+        }
+        return proximo < 0 ? 0 : proximo;
+    }
+
+    // Busca binária entre os filhos (ordenados) do estado
+    private int transicao(int estado, char c) {
+        int baixo = inicioFilhos[estado];
+        int alto = inicioFilhos[estado + 1] - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            char rotulo = rotulos[meio];
+            if (rotulo < c) {
+                baixo = meio + 1;
+            } else if (rotulo > c) {
+                alto = meio - 1;
+            } else {
+                return destinos[meio];
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isPalavraInteira(CharSequence texto, int inicio, int fim) {
+        boolean limiteInicio = inicio == 0 || !Character.isLetterOrDigit(texto.charAt(inicio - 1));
+        boolean limiteFim = fim == texto.length() || !Character.isLetterOrDigit(texto.charAt(fim));
+        return limiteInicio && limiteFim;
+    }
+
+    /**
+     * Normaliza um caractere: minúsculo e sem acento (para o intervalo Latin-1).
+     * Cada caractere vira exatamente um caractere, então as posições no texto original são preservadas.
+     * Também usado pelo índice de busca, para buscas e moderação tratarem acentos do mesmo jeito.
+     */
+    public static char normalizar(char c) {
+        return c < NORMALIZACAO_LATIN1.length ? NORMALIZACAO_LATIN1[c] : Character.toLowerCase(c);
+    }
+
+    static String normalizar(String texto) {
+        char[] chars = texto.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = normalizar(chars[i]);
+        }
+        return new String(chars);
+    }
+}
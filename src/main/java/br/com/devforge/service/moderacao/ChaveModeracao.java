@@ -0,0 +1,68 @@
+package br.com.devforge.service.moderacao;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Chave do cache de vereditos da moderação: versão da blocklist + hash de 128 bits do conteúdo.
+ * <p>
+ * O conteúdo entra no hash já normalizado como o {@link AutomatoTermos} enxerga (minúsculo e sem acento),
+ * então cópias que só mudam caixa ou acentos caem na mesma chave e recebem o mesmo veredito.
+ * Nada além disso é normalizado: juntar espaços, por exemplo, poderia mudar o resultado da varredura.
+ * Os campos entram separados (tamanho antes de cada um), para "ab" + "c" não colidir com "a" + "bc".
+ * </p>
+ * O hash é SHA-256 truncado, e não um hash rápido sem criptografia: com este, dava para montar um spam
+ * que colide com um conteúdo já aprovado e herdar o veredito dele. Mesmo assim custa bem menos que a varredura.
+ *
+ * @param versaoBlocklist Versão da blocklist usada no veredito (troca de lista = chaves novas).
+ * @param hashAlto        Primeiros 64 bits do hash do conteúdo.
+ * @param hashBaixo       Últimos 64 bits do hash do conteúdo.
+ */
+public record ChaveModeracao(long versaoBlocklist, long hashAlto, long hashBaixo) {
+
+    private static final int TAMANHO_BLOCO = 4096;
+
+    /**
+     * Calcula a chave dos campos de um conteúdo, na ordem em que são varridos.
+     * Campos {@code null} contam como vazios, como na varredura.
+     */
+    public static ChaveModeracao de(long versaoBlocklist, CharSequence... campos) {
+        MessageDigest sha256 = novoDigest();
+        byte[] bloco = new byte[TAMANHO_BLOCO];
+        for (CharSequence campo : campos) {
+            int tamanho = campo == null ? 0 : campo.length();
+            sha256.update(new byte[]{(byte) (tamanho >>> 24), (byte) (tamanho >>> 16), (byte) (tamanho >>> 8), (byte) tamanho});
+
+            int usados = 0;
+            for (int i = 0; i < tamanho; i++) {
+                char c = AutomatoTermos.normalizar(campo.charAt(i));
+                bloco[usados++] = (byte) (c >>> 8);
+                bloco[usados++] = (byte) c;
+                if (usados == bloco.length) {
+                    sha256.update(bloco, 0, usados);
+                    usados = 0;
+                }
+            }
+            sha256.update(bloco, 0, usados);
+        }
+
+        byte[] hash = sha256.digest();
+        return new ChaveModeracao(versaoBlocklist, longDe(hash, 0), longDe(hash, 8));
+    }
+
+    private static long longDe(byte[] bytes, int inicio) {
+        long valor = 0;
+        for (int i = inicio; i < inicio + 8; i++) {
+            valor = (valor << 8) | (bytes[i] & 0xFF);
+        }
+        return valor;
+    }
+
+    private static MessageDigest novoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e); // Toda JVM é obrigada a ter
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.devforge.service.moderacao;
+
+/**
+ * Um termo da blocklist encontrado em um campo do conteúdo analisado.
+ *
+ * @param termo   Termo da blocklist (já normalizado) que foi encontrado.
+ * @param campo   Nome do campo onde o termo apareceu (ex: titulo, contexto).
+ * @param posicao Posição (índice do caractere) onde o termo começa dentro do campo.
+ */
+public record OcorrenciaTermo(String termo, String campo, int posicao) {
+}
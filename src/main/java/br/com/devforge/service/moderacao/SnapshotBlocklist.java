@@ -0,0 +1,25 @@
+package br.com.devforge.service.moderacao;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Versão imutável da blocklist compilada, publicada de uma vez por troca atômica de referência.
+ * <p>
+ * Quem está moderando um conteúdo pega a referência uma vez e usa até o fim da análise,
+ * então nunca vê uma lista pela metade, mesmo que uma recarga aconteça no meio do caminho.
+ * </p>
+ *
+ * @param automato        Automato com os termos desta versão.
+ * @param versao          Número sequencial da versão (0 = nenhuma lista carregada).
+ * @param origem          De onde os termos foram lidos (arquivo ou classpath).
+ * @param carregadoEm     Momento em que esta versão foi publicada.
+ * @param tempoCompilacao Tempo gasto lendo e compilando os termos.
+ */
+public record SnapshotBlocklist(AutomatoTermos automato, long versao, String origem,
+                                Instant carregadoEm, Duration tempoCompilacao) {
+
+    public static final SnapshotBlocklist VAZIO = new SnapshotBlocklist(
+            AutomatoTermos.compilar(List.of(), true), 0, "nenhuma", Instant.EPOCH, Duration.ZERO);
+}
@@ -0,0 +1,36 @@
+package br.com.devforge.service.ranking;
+
+/**
+ * Faixas de nível do ranking, pelas mesmas faixas de XP usadas em {@link br.com.devforge.model.Usuario#atualizarNivel()}.
+ */
+public enum FaixaNivel {
+    INICIANTE(0, 300),
+    JUNIOR(300, 1000),
+    PLENO(1000, 5000),
+    SENIOR(5000, Integer.MAX_VALUE);
+
+    private final int xpMinimo;
+    private final int xpLimite; // Exclusivo
+
+    FaixaNivel(int xpMinimo, int xpLimite) {
+        this.xpMinimo = xpMinimo;
+        this.xpLimite = xpLimite;
+    }
+
+    public int getXpMinimo() {
+        return xpMinimo;
+    }
+
+    public int getXpLimite() {
+        return xpLimite;
+    }
+
+    public static FaixaNivel deXp(int xp) {
+        for (FaixaNivel faixa : values()) {
+            if (xp < faixa.xpLimite) {
+                return faixa;
+            }
+        }
+        return SENIOR;
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.devforge.service.ranking;
+
+import br.com.devforge.dto.EntradaRanking;
+import br.com.devforge.dto.PosicaoRanking;
+import br.com.devforge.dto.RankingUsuario;
+import br.com.devforge.dto.SaldoXp;
+import br.com.devforge.event.UsuarioAlteradoEvent;
+import br.com.devforge.event.XpAplicadoEvent;
+import br.com.devforge.model.Usuario;
+import br.com.devforge.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Ranking de XP dos desenvolvedores (global, por faixa de nível e vizinhança de um usuário).
+ * <p>
+ * Os usuários ficam em memória numa {@link SkipListRanking} ordenada por XP, então posição e
+ * top N custam O(log n) em vez de ordenar a tabela {@code usuarios} a cada requisição.
+ * O índice é montado no startup com uma varredura em stream do banco e depois acompanha
+ * cada gravação de usuário ({@link UsuarioAlteradoEvent}, após o commit).
+ * </p>
+ * Leituras compartilham um read lock; atualizações pegam o write lock por poucos microssegundos.
+ */
+@Service
+public class RankingXpService {
+
+    private static final Logger LOGGER = Logger.getLogger(RankingXpService.class.getName());
+
+    public static final int LIMITE_MAXIMO = 100;
+    public static final int VIZINHOS_MAXIMO = 25;
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final SkipListRanking ranking = new SkipListRanking();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    void registrarMetricas() {
+        Gauge.builder("ranking.usuarios", this, s -> s.lerComLock(s.ranking::tamanho))
+                .description("Usuários no índice do ranking de XP")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Monta o índice a partir do banco.
+     * Segura o write lock durante a carga para nenhuma atualização concorrente se perder.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        TransactionTemplate leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+        leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Lock escrita = lock.writeLock();
+        escrita.lock();
+        try {
+            leitura.executeWithoutResult(status -> {
+                try (Stream<EntradaRanking> usuarios = repository.streamRanking()) {
+                    usuarios.forEach(ranking::inserir);
+                }
+            });
+            LOGGER.info("Ranking de XP montado com " + ranking.tamanho() + " usuário(s) em "
+                    + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Atualiza o índice depois que um usuário é gravado pela entidade (cadastro, perfil).
+     * Roda após o commit; sem transação ativa roda na hora.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent evento) {
+        Usuario usuario = evento.usuario();
+        if (evento.removido()) {
+            remover(usuario.getId());
+        } else {
+            atualizar(new EntradaRanking(usuario.getId(), usuario.getNome(), usuario.getAvatarUrl(),
+                    usuario.getXpTotal() == null ? 0 : usuario.getXpTotal(), usuario.getNivel()));
+        }
+    }
+
+    /**
+     * Aplica um lote do ledger de XP (UPDATE direto no banco, sem callbacks da entidade).
+     * Nome e avatar continuam os que já estão no índice.
+     */
+    @EventListener
+    public void onXpAplicado(XpAplicadoEvent evento) {
+        Lock escrita = lock.writeLock();
+        escrita.lock();
+        try {
+            for (SaldoXp saldo : evento.saldos()) {
+                EntradaRanking atual = ranking.buscar(saldo.usuarioId());
+                if (atual != null) {
+                    ranking.inserir(new EntradaRanking(atual.usuarioId(), atual.nome(), atual.avatarUrl(),
+                            saldo.xpTotal(), saldo.nivel()));
+                }
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Insere ou atualiza um usuário no ranking.
+     * Gancho para atualizações que não passam pela entidade (ex: UPDATE em massa).
+     */
+    public void atualizar(EntradaRanking entrada) {
+        Lock escrita = lock.writeLock();
+        escrita.lock();
+        try {
+            ranking.inserir(entrada);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public void remover(long usuarioId) {
+        Lock escrita = lock.writeLock();
+        escrita.lock();
+        try {
+            ranking.remover(usuarioId);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * @param limite Quantidade de usuários (limitada a {@link #LIMITE_MAXIMO}).
+     * @return Os primeiros colocados do ranking global.
+     */
+    public List<PosicaoRanking> top(int limite) {
+        return lerComLock(() -> posicoes(1, ranking.intervalo(1, Math.clamp(limite, 1, LIMITE_MAXIMO))));
+    }
+
+    /**
+     * Primeiros colocados de uma faixa de nível. A posição retornada é a posição dentro da faixa.
+     * <p>
+     * Como o ranking é ordenado por XP, a faixa é um trecho contínuo: começa logo depois
+     * dos usuários com XP acima do limite da faixa.
+     * </p>
+     */
+    public List<PosicaoRanking> topDaFaixa(FaixaNivel faixa, int limite) {
+        return lerComLock(() -> {
+            int acimaDaFaixa = ranking.contarComXpMinimo(faixa.getXpLimite());
+            int naFaixa = ranking.contarComXpMinimo(faixa.getXpMinimo()) - acimaDaFaixa;
+            List<EntradaRanking> entradas = ranking.intervalo(acimaDaFaixa + 1,
+                    Math.min(naFaixa, Math.clamp(limite, 1, LIMITE_MAXIMO)));
+            return posicoes(1, entradas);
+        });
+    }
+
+    /**
+     * Posição global e na faixa de um usuário, com os vizinhos imediatamente acima e abaixo.
+     *
+     * @param usuarioId ID do usuário.
+     * @param vizinhos  Quantos usuários mostrar de cada lado (limitado a {@link #VIZINHOS_MAXIMO}).
+     * @return Vazio se o usuário não estiver no ranking.
+     */
+    public Optional<RankingUsuario> doUsuario(long usuarioId, int vizinhos) {
+        return lerComLock(() -> {
+            int posicao = ranking.posicao(usuarioId);
+            if (posicao == 0) {
+                return Optional.empty();
+            }
+            EntradaRanking entrada = ranking.buscar(usuarioId);
+            FaixaNivel faixa = FaixaNivel.deXp(entrada.xpTotal() == null ? 0 : entrada.xpTotal());
+            int posicaoNaFaixa = posicao - ranking.contarComXpMinimo(faixa.getXpLimite());
+
+            int lado = Math.clamp(vizinhos, 0, VIZINHOS_MAXIMO);
+            int inicio = Math.max(1, posicao - lado);
+            List<PosicaoRanking> aoRedor = posicoes(inicio, ranking.intervalo(inicio, posicao - inicio + lado + 1));
+
+            return Optional.of(new RankingUsuario(PosicaoRanking.de(posicao, entrada), faixa.name(), posicaoNaFaixa, aoRedor));
+        });
+    }
+
+    private static List<PosicaoRanking> posicoes(int primeiraPosicao, List<EntradaRanking> entradas) {
+        List<PosicaoRanking> resultado = new ArrayList<>(entradas.size());
+        for (int i = 0; i < entradas.size(); i++) {
+            resultado.add(PosicaoRanking.de(primeiraPosicao + i, entradas.get(i)));
+        }
+        return resultado;
+    }
+
+    private <T> T lerComLock(Supplier<T> leitura) {
+        Lock leituraLock = lock.readLock();
+        leituraLock.lock();
+        try {
+            return leitura.get();
+        } finally {
+            leituraLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.devforge.service.ranking;
+
+import br.com.devforge.dto.EntradaRanking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Skip list indexada (com "spans") que mantém os usuários ordenados por XP decrescente,
+ * desempatando pelo ID crescente (quem chegou primeiro fica na frente).
+ * <p>
+ * Cada ponteiro guarda quantos nós ele pula, então a posição de um usuário e o acesso
+ * por posição custam O(log n) esperado, sem ordenar nada a cada consulta.
+ * Um mapa por ID guarda a entrada atual de cada usuário para localizar o nó ao atualizar o XP.
+ * </p>
+ * Não é thread-safe; o {@link RankingXpService} controla o acesso.
+ */
+class SkipListRanking {
+
+    private static final int NIVEL_MAXIMO = 32;
+    private static final double PROBABILIDADE = 0.25;
+
+    private final No cabeca = new No(null, NIVEL_MAXIMO);
+    private final Map<Long, EntradaRanking> porUsuario = new HashMap<>();
+    private int nivel = 1;
+
+    /**
+     * Insere o usuário ou, se ele já estiver no ranking, substitui a entrada anterior.
+     */
+    void inserir(EntradaRanking entrada) {
+        EntradaRanking anterior = porUsuario.put(entrada.usuarioId(), entrada);
+        if (anterior != null) {
+            remover(anterior);
+        }
+
+        No[] atualizar = new No[NIVEL_MAXIMO];
+        int[] posicao = new int[NIVEL_MAXIMO];
+        No x = cabeca;
+        for (int i = nivel - 1; i >= 0; i--) {
+            posicao[i] = i == nivel - 1 ? 0 : posicao[i + 1];
+            while (x.proximo[i] != null && comparar(x.proximo[i].entrada, entrada) < 0) {
+                posicao[i] += x.span[i];
+                x = x.proximo[i];
+            }
+            atualizar[i] = x;
+        }
+
+        int nivelNo = sortearNivel();
+        if (nivelNo > nivel) {
+            for (int i = nivel; i < nivelNo; i++) {
+                posicao[i] = 0;
+                atualizar[i] = cabeca;
+                cabeca.span[i] = tamanho() - 1; // O novo usuário já está no mapa
+            }
+            nivel = nivelNo;
+        }
+
+        No novo = new No(entrada, nivelNo);
+        for (int i = 0; i < nivelNo; i++) {
+            novo.proximo[i] = atualizar[i].proximo[i];
+            atualizar[i].proximo[i] = novo;
+            novo.span[i] = atualizar[i].span[i] - (posicao[0] - posicao[i]);
+            atualizar[i].span[i] = posicao[0] - posicao[i] + 1;
+        }
+        for (int i = nivelNo; i < nivel; i++) {
+            atualizar[i].span[i]++;
+        }
+    }
+
+    /**
+     * Remove o usuário do ranking.
+     *
+     * @return {@code true} se o usuário estava no ranking.
+     */
+    boolean remover(long usuarioId) {
+        EntradaRanking entrada = porUsuario.remove(usuarioId);
+        if (entrada == null) {
+            return false;
+        }
+        remover(entrada);
+        return true;
+    }
+
+    /**
+     * @return A entrada atual do usuário, ou {@code null} se ele não estiver no ranking.
+     */
+    EntradaRanking buscar(long usuarioId) {
+        return porUsuario.get(usuarioId);
+    }
+
+    /**
+     * @return Posição do usuário (1 = maior XP), ou 0 se ele não estiver no ranking.
+     */
+    int posicao(long usuarioId) {
+        EntradaRanking entrada = porUsuario.get(usuarioId);
+        if (entrada == null) {
+            return 0;
+        }
+        int posicao = 0;
+        No x = cabeca;
+        for (int i = nivel - 1; i >= 0; i--) {
+            while (x.proximo[i] != null && comparar(x.proximo[i].entrada, entrada) <= 0) {
+                posicao += x.span[i];
+                x = x.proximo[i];
+            }
+            if (x.entrada != null && x.entrada.usuarioId().equals(entrada.usuarioId())) {
+                return posicao;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Lista as entradas a partir de uma posição, em ordem de ranking.
+     *
+     * @param posicaoInicial Primeira posição (1 = maior XP).
+     * @param quantidade     Quantidade máxima de entradas.
+     */
+    List<EntradaRanking> intervalo(int posicaoInicial, int quantidade) {
+        if (posicaoInicial < 1 || posicaoInicial > tamanho() || quantidade <= 0) {
+            return Collections.emptyList();
+        }
+        List<EntradaRanking> resultado = new ArrayList<>(Math.min(quantidade, tamanho() - posicaoInicial + 1));
+        for (No x = noNaPosicao(posicaoInicial); x != null && resultado.size() < quantidade; x = x.proximo[0]) {
+            resultado.add(x.entrada);
+        }
+        return resultado;
+    }
+
+    /**
+     * Conta os usuários com XP maior ou igual ao informado.
+     * Como a lista é ordenada por XP decrescente, eles ocupam exatamente as primeiras posições.
+     */
+    int contarComXpMinimo(int xp) {
+        int quantidade = 0;
+        No x = cabeca;
+        for (int i = nivel - 1; i >= 0; i--) {
+            while (x.proximo[i] != null && xpDe(x.proximo[i].entrada) >= xp) {
+                quantidade += x.span[i];
+                x = x.proximo[i];
+            }
+        }
+        return quantidade;
+    }
+
+    int tamanho() {
+        return porUsuario.size();
+    }
+
+    private void remover(EntradaRanking entrada) {
+        No[] atualizar = new No[NIVEL_MAXIMO];
+        No x = cabeca;
+        for (int i = nivel - 1; i >= 0; i--) {
+            while (x.proximo[i] != null && comparar(x.proximo[i].entrada, entrada) < 0) {
+                x = x.proximo[i];
+            }
+            atualizar[i] = x;
+        }
+        No alvo = x.proximo[0];
+        for (int i = 0; i < nivel; i++) {
+            if (atualizar[i].proximo[i] == alvo) {
+                atualizar[i].span[i] += alvo.span[i] - 1;
+                atualizar[i].proximo[i] = alvo.proximo[i];
+            } else {
+                atualizar[i].span[i]--;
+            }
+        }
+        while (nivel > 1 && cabeca.proximo[nivel - 1] == null) {
+            nivel--;
+        }
+    }
+
+    private No noNaPosicao(int posicao) {
+        int percorrido = 0;
+        No x = cabeca;
+        for (int i = nivel - 1; i >= 0; i--) {
+            while (x.proximo[i] != null && percorrido + x.span[i] <= posicao) {
+                percorrido += x.span[i];
+                x = x.proximo[i];
+            }
+            if (percorrido == posicao) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    private static int sortearNivel() {
+        int nivelNo = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nivelNo < NIVEL_MAXIMO && random.nextDouble() < PROBABILIDADE) {
+            nivelNo++;
+        }
+        return nivelNo;
+    }
+
+    // XP decrescente e, no empate, ID crescente
+    private static int comparar(EntradaRanking a, EntradaRanking b) {
+        int porXp = Integer.compare(xpDe(b), xpDe(a));
+        return porXp != 0 ? porXp : Long.compare(a.usuarioId(), b.usuarioId());
+    }
+
+    private static int xpDe(EntradaRanking entrada) {
+        return entrada.xpTotal() == null ? 0 : entrada.xpTotal();
+    }
+
+    private static final class No {
+        final EntradaRanking entrada;
+        final No[] proximo;
+        final int[] span; // Quantas posições o ponteiro do mesmo nível avança
+
+        No(EntradaRanking entrada, int niveis) {
+            this.entrada = entrada;
+            this.proximo = new No[niveis];
+            this.span = new int[niveis];
+        }
+    }
+}
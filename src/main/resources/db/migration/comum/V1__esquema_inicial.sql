@@ -0,0 +1,54 @@
+-- Esquema criado pelo antigo ddl-auto=update antes das migracoes (IDs por IDENTITY).
+-- Bancos que ja existiam antes das migracoes entram direto nesta versao (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE usuarios (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome              VARCHAR(255),
+    email             VARCHAR(255) UNIQUE,
+    github_username   VARCHAR(255) UNIQUE,
+    avatar_url        VARCHAR(255),
+    bio               VARCHAR(500),
+    localizacao       VARCHAR(255),
+    nivel             VARCHAR(255),
+    xp_total          INTEGER,
+    cadastro_completo BOOLEAN NOT NULL,
+    data_cadastro     TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE desafio (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    titulo                VARCHAR(255) NOT NULL,
+    contexto              TEXT NOT NULL,
+    requisitos_funcionais TEXT NOT NULL,
+    requisitos_tecnicos   TEXT NOT NULL,
+    nivel                 VARCHAR(255) NOT NULL,
+    stack                 VARCHAR(255) NOT NULL,
+    data_criacao          DATE,
+    status                VARCHAR(255),
+    criador_api           BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE solucao (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome_autor       VARCHAR(255),
+    link_repositorio VARCHAR(255),
+    status           VARCHAR(255),
+    data_envio       TIMESTAMP(6),
+    desafio_id       BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE avaliacao (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nota       INTEGER,
+    comentario VARCHAR(255),
+    solucao_id BIGINT,
+    PRIMARY KEY (id)
+);
+
+-- Mesmos nomes que o Hibernate gerou para as chaves estrangeiras
+ALTER TABLE avaliacao ADD CONSTRAINT FK6j0p2p96fa0eahhl7p4nffepd FOREIGN KEY (solucao_id) REFERENCES solucao;
+ALTER TABLE desafio ADD CONSTRAINT FKq1m7hdcb0yx1bhsbrgk9tplnn FOREIGN KEY (criador_api) REFERENCES usuarios;
+ALTER TABLE solucao ADD CONSTRAINT FKe9n6s5nbk175tx37ujvspt3di FOREIGN KEY (desafio_id) REFERENCES desafio;
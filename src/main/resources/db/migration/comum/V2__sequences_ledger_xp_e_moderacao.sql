@@ -0,0 +1,40 @@
+-- Estruturas que o ddl-auto=update criava antes das migracoes. Com IF NOT EXISTS, esta versao
+-- completa tanto um banco no esquema inicial quanto um que o Hibernate ja tinha atualizado.
+
+-- IDs em blocos de 50 (allocationSize das entidades), para o Hibernate agrupar INSERTs.
+-- O alinhamento com os IDs ja gravados fica na V3 de cada banco
+CREATE SEQUENCE IF NOT EXISTS avaliacao_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS desafio_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS eventos_xp_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS solucao_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq START WITH 1 INCREMENT BY 50;
+
+-- Fila de moderacao automatica (Desafio.moderadoEm)
+ALTER TABLE desafio ADD COLUMN IF NOT EXISTS moderado_em TIMESTAMP(6);
+-- Os PENDENTE de antes da fila ja passaram pela moderacao sincrona e esperam revisao humana:
+-- sem a data, a recuperacao da fila os moderaria de novo (e aprovaria os que hoje passam no filtro)
+UPDATE desafio SET moderado_em = CURRENT_TIMESTAMP WHERE status = 'PENDENTE' AND moderado_em IS NULL;
+
+-- Totais de avaliacao guardados na solucao (AgregadoAvaliacoes). As linhas antigas ficam zeradas
+-- e sao recalculadas no startup (SolucaoRepository.recalcularTotaisPendentes)
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_quantidade INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_soma BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_media FLOAT(53);
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_nota1 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_nota2 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_nota3 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_nota4 INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE solucao ADD COLUMN IF NOT EXISTS avaliacoes_nota5 INTEGER DEFAULT 0 NOT NULL;
+
+-- Ledger de XP (EventoXp)
+CREATE TABLE IF NOT EXISTS eventos_xp (
+    id          BIGINT NOT NULL,
+    usuario_id  BIGINT NOT NULL,
+    xp          INTEGER NOT NULL,
+    motivo      VARCHAR(255) NOT NULL,
+    criado_em   TIMESTAMP(6) NOT NULL,
+    aplicado_em TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_eventos_xp_usuario ON eventos_xp (usuario_id);
+CREATE INDEX IF NOT EXISTS idx_eventos_xp_aplicado ON eventos_xp (aplicado_em);
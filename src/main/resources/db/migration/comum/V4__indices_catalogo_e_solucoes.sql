@@ -0,0 +1,21 @@
+-- Indices das consultas quentes. As colunas seguem a ordem dos filtros de igualdade e depois a do ORDER BY,
+-- para o banco ler a pagina ja ordenada e parar no LIMIT, sem ordenar a tabela inteira.
+
+-- O filtro de nivel passa a comparar a coluna direto (nivel = ?), sem UPPER: os valores gravados ficam em caixa alta
+UPDATE desafio SET nivel = UPPER(TRIM(nivel)) WHERE nivel <> UPPER(TRIM(nivel));
+
+-- Catalogo sem filtro de nivel (DesafioRepository.buscarPagina) e carga do indice de tags (streamResumos)
+CREATE INDEX idx_desafio_status_id ON desafio (status, id);
+
+-- Catalogo por nivel: aprovados de um nivel, por ID (DesafioRepository.buscarPaginaPorNivel)
+CREATE INDEX idx_desafio_status_nivel_id ON desafio (status, nivel, id);
+
+-- Solucoes de um desafio na ordenacao padrao da listagem: mais recentes primeiro, desempate pelo ID
+-- (SolucaoRepository.buscarPorDesafio com sort=dataEnvio,DESC)
+CREATE INDEX idx_solucao_desafio_data_envio ON solucao (desafio_id, data_envio DESC NULLS LAST, id DESC);
+
+-- Exportacao por ID (streamPorDesafio), contagem da pagina e busca pela chave estrangeira
+CREATE INDEX idx_solucao_desafio_id ON solucao (desafio_id, id);
+
+-- Avaliacoes de uma solucao (recalculo dos totais e busca pela chave estrangeira)
+CREATE INDEX idx_avaliacao_solucao ON avaliacao (solucao_id);
@@ -0,0 +1,12 @@
+-- XP ganho antes do ledger (user-013) so existia em usuarios.xp_total. Sem um lancamento de abertura,
+-- a auditoria acusa divergencia e o replay (soma dos lancamentos aplicados) zeraria esse XP e o nivel.
+-- Cada usuario recebe um lancamento ja aplicado com a diferenca entre o XP gravado e o que o ledger soma.
+INSERT INTO eventos_xp (id, usuario_id, xp, motivo, criado_em, aplicado_em)
+SELECT nextval('eventos_xp_seq'), u.id, u.saldo, 'SALDO_INICIAL', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (
+    SELECT usuarios.id,
+           COALESCE(usuarios.xp_total, 0) - COALESCE((SELECT SUM(e.xp) FROM eventos_xp e
+                                                     WHERE e.usuario_id = usuarios.id AND e.aplicado_em IS NOT NULL), 0) AS saldo
+    FROM usuarios
+) u
+WHERE u.saldo <> 0;
@@ -0,0 +1,12 @@
+-- Mesmo papel da V3 do PostgreSQL. No H2, o proximo valor da sequence e o do RESTART WITH:
+-- maior ID + 50, para o primeiro bloco do Hibernate comecar depois dos IDs gravados (ou o valor atual, se maior).
+ALTER TABLE desafio ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE solucao ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE avaliacao ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE usuarios ALTER COLUMN id DROP IDENTITY;
+
+ALTER SEQUENCE desafio_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(id), 0) + 50, (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'desafio_seq')) FROM desafio);
+ALTER SEQUENCE solucao_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(id), 0) + 50, (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'solucao_seq')) FROM solucao);
+ALTER SEQUENCE avaliacao_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(id), 0) + 50, (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'avaliacao_seq')) FROM avaliacao);
+ALTER SEQUENCE usuarios_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(id), 0) + 50, (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'usuarios_seq')) FROM usuarios);
+ALTER SEQUENCE eventos_xp_seq RESTART WITH (SELECT GREATEST(COALESCE(MAX(id), 0) + 50, (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'eventos_xp_seq')) FROM eventos_xp);
@@ -0,0 +1,14 @@
+-- Os IDs passam a vir das sequences da V2: tira o IDENTITY do esquema inicial (se ainda houver)
+-- e coloca cada sequence a frente do maior ID gravado. O proximo nextval devolve maior ID + 50 e o
+-- Hibernate usa o bloco (maior ID + 1 .. maior ID + 50). Nao faz nada se a sequence ja estiver a frente
+-- (o >= cobre a sequence recem-criada, cujo primeiro nextval devolveria o proprio last_value).
+ALTER TABLE desafio ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE solucao ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE avaliacao ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE usuarios ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('desafio_seq', m) FROM (SELECT MAX(id) AS m FROM desafio) t WHERE m >= (SELECT last_value FROM desafio_seq);
+SELECT setval('solucao_seq', m) FROM (SELECT MAX(id) AS m FROM solucao) t WHERE m >= (SELECT last_value FROM solucao_seq);
+SELECT setval('avaliacao_seq', m) FROM (SELECT MAX(id) AS m FROM avaliacao) t WHERE m >= (SELECT last_value FROM avaliacao_seq);
+SELECT setval('usuarios_seq', m) FROM (SELECT MAX(id) AS m FROM usuarios) t WHERE m >= (SELECT last_value FROM usuarios_seq);
+SELECT setval('eventos_xp_seq', m) FROM (SELECT MAX(id) AS m FROM eventos_xp) t WHERE m >= (SELECT last_value FROM eventos_xp_seq);
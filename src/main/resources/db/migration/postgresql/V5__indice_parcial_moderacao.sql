@@ -0,0 +1,6 @@
+-- So no PostgreSQL (o H2 nao tem indice parcial).
+
+-- Fila de moderacao (DesafioRepository.buscarIdsAguardandoModeracao): so os desafios ainda nao moderados,
+-- que sao poucos perto do catalogo. O predicado precisa bater com o literal da consulta JPQL.
+CREATE INDEX idx_desafio_aguardando_moderacao ON desafio (id) WHERE status = 'PENDENTE' AND moderado_em IS NULL;
+
@@ -0,0 +1,117 @@
+package br.com.devforge.config.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois bancos H2 em memória fazem o papel do primário e da réplica; cada um responde com o próprio nome.
+ */
+class RoteamentoReplicaTest {
+
+    private DataSource primario;
+    private DataSource replica;
+
+    @BeforeEach
+    void criarBancos() {
+        primario = banco("primario");
+        replica = banco("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE atraso (segundos DOUBLE)");
+        new JdbcTemplate(replica).execute("INSERT INTO atraso VALUES (0)");
+    }
+
+    @Test
+    void leituraVaiParaAReplicaEEscritaParaOPrimario() {
+        Rota rota = rota(new RoteamentoReplica(primario, replica, Duration.ofSeconds(5), "SELECT segundos FROM atraso"));
+
+        assertThat(rota.ler()).isEqualTo("replica");
+        assertThat(rota.escrever()).isEqualTo("primario");
+        assertThat(rota.semTransacao()).isEqualTo("primario");
+    }
+
+    @Test
+    void replicaAtrasadaDesviaAsLeiturasAteAlcancar() {
+        RoteamentoReplica roteamento = new RoteamentoReplica(primario, replica, Duration.ofSeconds(5), "SELECT segundos FROM atraso");
+        Rota rota = rota(roteamento);
+
+        new JdbcTemplate(replica).update("UPDATE atraso SET segundos = 12.5");
+        assertThat(roteamento.verificarAtraso()).isFalse();
+        assertThat(roteamento.getAtrasoSegundos()).isEqualTo(12.5);
+        assertThat(rota.ler()).isEqualTo("primario");
+
+        new JdbcTemplate(replica).update("UPDATE atraso SET segundos = 0.2");
+        assertThat(roteamento.verificarAtraso()).isTrue();
+        assertThat(rota.ler()).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaForaDoArDesviaAsLeituras() {
+        DataSource foraDoAr = new DriverManagerDataSource("jdbc:h2:mem:inexistente;IFEXISTS=TRUE", "sa", "");
+        RoteamentoReplica roteamento = new RoteamentoReplica(primario, foraDoAr, Duration.ofSeconds(5), "SELECT 0");
+        Rota rota = rota(roteamento);
+
+        // Sem esperar a verificação: a falha de conexão já desvia a leitura
+        assertThat(rota.ler()).isEqualTo("primario");
+        assertThat(roteamento.isReplicaEmDia()).isFalse();
+        assertThat(roteamento.verificarAtraso()).isFalse();
+    }
+
+    @Test
+    void consultaDeAtrasoInvalidaContaComoReplicaIndisponivel() {
+        RoteamentoReplica roteamento = new RoteamentoReplica(primario, replica, Duration.ofSeconds(5), "SELECT pg_last_xact_replay_timestamp()");
+
+        assertThat(roteamento.verificarAtraso()).isFalse();
+        assertThat(rota(roteamento).ler()).isEqualTo("primario");
+    }
+
+    private static DataSource banco(String nome) {
+        DataSource banco = new DriverManagerDataSource("jdbc:h2:mem:" + nome + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.update("INSERT INTO origem VALUES (?)", nome);
+        return banco;
+    }
+
+    private Rota rota(RoteamentoReplica roteamento) {
+        return new Rota(DataSourceConfig.rotear(primario, roteamento));
+    }
+
+    /**
+     * Executa a mesma consulta em transações só de leitura, de escrita e sem transação.
+     */
+    private static final class Rota {
+
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate leitura;
+        private final TransactionTemplate escrita;
+
+        Rota(DataSource dataSource) {
+            DataSourceTransactionManager transacoes = new DataSourceTransactionManager(dataSource);
+            jdbc = new JdbcTemplate(dataSource);
+            leitura = new TransactionTemplate(transacoes);
+            leitura.setReadOnly(true);
+            escrita = new TransactionTemplate(transacoes);
+        }
+
+        String ler() {
+            return leitura.execute(status -> semTransacao());
+        }
+
+        String escrever() {
+            return escrita.execute(status -> semTransacao());
+        }
+
+        String semTransacao() {
+            return jdbc.queryForObject("SELECT nome FROM origem", String.class);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.devforge.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaldeTokensTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    @Test
+    void admiteARajadaEDepoisInformaAEspera() {
+        BaldeTokens balde = new BaldeTokens(3, 1, 0);
+
+        assertThat(balde.consumir(0)).isZero();
+        assertThat(balde.consumir(0)).isZero();
+        assertThat(balde.consumir(0)).isZero();
+        assertThat(balde.consumir(0)).isEqualTo(SEGUNDO); // Um token volta em 1 s
+    }
+
+    @Test
+    void repoeTokensNoRitmoConfigurado() {
+        BaldeTokens balde = new BaldeTokens(2, 4, 0); // Um token a cada 250 ms
+
+        balde.consumir(0);
+        balde.consumir(0);
+        assertThat(balde.consumir(100_000_000L)).isEqualTo(150_000_000L);
+        assertThat(balde.consumir(250_000_000L)).isZero();
+        assertThat(balde.consumir(250_000_000L)).isPositive();
+    }
+
+    @Test
+    void tempoParadoNaoAcumulaMaisQueACapacidade() {
+        BaldeTokens balde = new BaldeTokens(2, 1, 0);
+
+        long depois = 3_600 * SEGUNDO;
+        assertThat(balde.consumir(depois)).isZero();
+        assertThat(balde.consumir(depois)).isZero();
+        assertThat(balde.consumir(depois)).isPositive();
+    }
+
+    @Test
+    void requisicoesSimultaneasNaoPassamDaCapacidade() throws InterruptedException {
+        BaldeTokens balde = new BaldeTokens(100, 0.001, 0); // Praticamente sem reposição durante o teste
+        AtomicInteger admitidas = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    if (balde.consumir(1) == 0) {
+                        admitidas.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertThat(admitidas.get()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.devforge.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimiteEscritaFilterTest {
+
+    private ControleAdmissao controleAdmissao;
+    private LimiteEscritaFilter filtro;
+
+    @BeforeEach
+    void criarFiltro() {
+        // Rajada de 2 escritas por cliente, reposição lenta (uma a cada 10 s) e 1 escrita simultânea no nó
+        controleAdmissao = new ControleAdmissao();
+        ReflectionTestUtils.setField(controleAdmissao, "rajada", 2);
+        ReflectionTestUtils.setField(controleAdmissao, "porSegundo", 0.1);
+        ReflectionTestUtils.setField(controleAdmissao, "ociosidade", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(controleAdmissao, "maxBaldes", 1000L);
+        ReflectionTestUtils.setField(controleAdmissao, "simultaneas", 1);
+        ReflectionTestUtils.setField(controleAdmissao, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(controleAdmissao, "inicializar");
+        filtro = new LimiteEscritaFilter(controleAdmissao);
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acimaDaRajadaRespondeTooManyRequestsComRetryAfter() throws Exception {
+        assertThat(executar(post("/solucoes", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(executar(post("/solucoes/batch", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse recusada = executar(post("/avaliacoes", "10.0.0.1"));
+
+        assertThat(recusada.getStatus()).isEqualTo(429);
+        assertThat(recusada.getHeader("Retry-After")).isEqualTo("10"); // Um token volta em 10 s
+    }
+
+    @Test
+    void cadaClienteTemOProprioBalde() throws Exception {
+        executar(post("/desafios", "10.0.0.1"));
+        executar(post("/desafios", "10.0.0.1"));
+
+        assertThat(executar(post("/desafios", "10.0.0.1")).getStatus()).isEqualTo(429);
+        assertThat(executar(post("/desafios", "10.0.0.2")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void usuarioLogadoEhLimitadoPeloLoginENaoPeloIp() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana@devforge.com", null, "OAUTH2_USER"));
+        executar(post("/solucoes", "10.0.0.1"));
+        executar(post("/solucoes", "10.0.0.2"));
+
+        assertThat(executar(post("/solucoes", "10.0.0.3")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void soLimitaPostDosRecursosDeEscrita() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest leitura = post("/solucoes", "10.0.0.1");
+            leitura.setMethod("GET");
+            assertThat(executar(leitura).getStatus()).isEqualTo(200);
+
+            assertThat(executar(post("/xp/usuarios/1/replay", "10.0.0.1")).getStatus()).isEqualTo(200);
+            assertThat(executar(post("/solucoesx", "10.0.0.1")).getStatus()).isEqualTo(200);
+        }
+        assertThat(executar(post("/solucoes", "10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void semVagaSimultaneaRecusaComRetryAfterDeUmSegundo() throws Exception {
+        MockHttpServletResponse[] concorrente = new MockHttpServletResponse[1];
+        // A escrita do cliente 1 ainda ocupa a única vaga quando a do cliente 2 chega
+        FilterChain ocupada = (request, response) -> concorrente[0] = executar(post("/solucoes", "10.0.0.2"));
+
+        filtro.doFilter(post("/solucoes", "10.0.0.1"), new MockHttpServletResponse(), ocupada);
+
+        assertThat(concorrente[0].getStatus()).isEqualTo(429);
+        assertThat(concorrente[0].getHeader("Retry-After")).isEqualTo("1");
+        assertThat(executar(post("/solucoes", "10.0.0.2")).getStatus()).isEqualTo(200); // A vaga voltou
+    }
+
+    @Test
+    void liberaAVagaQuandoACadeiaLancaExcecao() throws Exception {
+        FilterChain falha = (request, response) -> {
+            throw new ServletException("Erro na escrita");
+        };
+
+        assertThatThrownBy(() -> filtro.doFilter(post("/solucoes", "10.0.0.1"), new MockHttpServletResponse(), falha))
+                .isInstanceOf(ServletException.class);
+
+        assertThat(controleAdmissao.reservar()).isTrue();
+        controleAdmissao.liberar();
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest post(String caminho, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", caminho);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
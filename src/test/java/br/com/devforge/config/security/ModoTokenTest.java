@@ -0,0 +1,81 @@
+package br.com.devforge.config.security;
+
+import br.com.devforge.model.Usuario;
+import br.com.devforge.repository.UsuarioRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cadeia de segurança no modo {@code auth.modo=token}, com o cookie assinado no lugar da sessão.
+ */
+@SpringBootTest(properties = {
+        "auth.modo=token",
+        "auth.token.segredo=" + ModoTokenTest.SEGREDO
+})
+@AutoConfigureMockMvc
+class ModoTokenTest {
+
+    static final String SEGREDO = "segredo-de-teste-com-mais-de-32-bytes";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenSessao tokenSessao;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void logoutApagaOCookieDoToken() throws Exception {
+        String token = tokenSessao.emitir(1L, "dev@devforge.com", "INICIANTE I");
+
+        mockMvc.perform(post("/logout").cookie(new Cookie(TokenSessao.NOME_COOKIE, token)))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(cookie().maxAge(TokenSessao.NOME_COOKIE, 0))
+                .andExpect(cookie().value(TokenSessao.NOME_COOKIE, (String) null));
+    }
+
+    @Test
+    void renovacaoLevaONivelAtualDoUsuario() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Dev");
+        usuario.setEmail(UUID.randomUUID() + "@devforge.com");
+        usuario.setXpTotal(1200);
+        usuario.setNivel("PLENO I");
+        usuario = usuarioRepository.save(usuario);
+
+        // Emitido no login, quando ainda era iniciante, e já passado da metade da validade (1h de 12h)
+        String antigo = tokenCurto().emitir(usuario.getId(), usuario.getEmail(), "INICIANTE I");
+
+        String renovado = mockMvc.perform(get("/users/me").cookie(new Cookie(TokenSessao.NOME_COOKIE, antigo)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie(TokenSessao.NOME_COOKIE).getValue();
+
+        assertThat(tokenSessao.verificar(renovado)).hasValueSatisfying(dados ->
+                assertThat(dados.nivel()).isEqualTo("PLENO I"));
+    }
+
+    // Mesmo segredo do contexto, com validade menor: o token já nasce pedindo renovação
+    private static TokenSessao tokenCurto() throws Exception {
+        TokenSessao curto = new TokenSessao();
+        ReflectionTestUtils.setField(curto, "segredo", SEGREDO);
+        ReflectionTestUtils.setField(curto, "validade", Duration.ofHours(1));
+        curto.inicializarChave();
+        return curto;
+    }
+}
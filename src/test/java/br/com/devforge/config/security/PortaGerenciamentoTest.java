@@ -0,0 +1,54 @@
+package br.com.devforge.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Métricas e health completos só na porta de gerenciamento; na porta pública, só os probes do load balancer.
+ */
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+class PortaGerenciamentoTest {
+
+    private final HttpClient http = HttpClient.newHttpClient(); // Não segue o redirecionamento para o login
+
+    @LocalServerPort
+    private int portaPublica;
+
+    @LocalManagementPort
+    private int portaGerenciamento;
+
+    @Test
+    void actuatorNaoFicaAbertoNaPortaPublica() throws Exception {
+        assertThat(status(portaPublica, "/actuator/prometheus")).isEqualTo(302);
+        assertThat(status(portaPublica, "/actuator/health")).isEqualTo(302);
+    }
+
+    @Test
+    void probesContinuamNaPortaPublica() throws Exception {
+        assertThat(status(portaPublica, "/livez")).isEqualTo(200);
+        assertThat(status(portaPublica, "/readyz")).isEqualTo(200);
+    }
+
+    @Test
+    void prometheusFazScrapeNaPortaDeGerenciamento() throws Exception {
+        assertThat(status(portaGerenciamento, "/actuator/prometheus")).isEqualTo(200);
+        assertThat(status(portaGerenciamento, "/actuator/health")).isEqualTo(200);
+    }
+
+    private int status(int porta, String caminho) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho)).build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
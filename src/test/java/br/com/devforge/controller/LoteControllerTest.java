@@ -0,0 +1,165 @@
+package br.com.devforge.controller;
+
+import br.com.devforge.model.Desafio;
+import br.com.devforge.model.Solucao;
+import br.com.devforge.repository.DesafioRepository;
+import br.com.devforge.repository.SolucaoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code POST /solucoes/batch} e {@code POST /avaliacoes/batch}: cada item tem o próprio resultado.
+ */
+@SpringBootTest(properties = "lote.tamanho-maximo=4")
+@AutoConfigureMockMvc
+class LoteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DesafioRepository desafioRepository;
+
+    @Autowired
+    private SolucaoRepository solucaoRepository;
+
+    private Desafio desafio;
+    private Solucao solucao;
+
+    @BeforeEach
+    void criarDesafioESolucao() {
+        desafio = new Desafio();
+        desafio.setTitulo("Lote");
+        desafio.setContexto("Uma turma inteira envia as soluções de uma vez.");
+        desafio.setRequisitosFuncionais("Importar soluções");
+        desafio.setRequisitosTecnicos("Java");
+        desafio.setNivel("JUNIOR");
+        desafio.setStack("Java");
+        desafio.setStatus("APROVADO");
+        desafio = desafioRepository.save(desafio);
+
+        solucao = new Solucao();
+        solucao.setNomeAutor("Dev");
+        solucao.setLinkRepositorio("https://github.com/dev/lote");
+        solucao.setDesafio(desafio);
+        solucao = solucaoRepository.save(solucao);
+    }
+
+    @Test
+    void solucoesValidasSaoGravadasEAsInvalidasVoltamComOMotivo() throws Exception {
+        String itens = """
+                [
+                  {"desafioId": %d, "nomeAutor": "Ana", "linkRepositorio": "https://github.com/ana/lote"},
+                  {"desafioId": -1, "nomeAutor": "Bia", "linkRepositorio": "https://github.com/bia/lote"},
+                  {"desafioId": %d, "nomeAutor": "Caio", "linkRepositorio": " "},
+                  {"nomeAutor": "Duda", "linkRepositorio": "https://github.com/duda/lote"}
+                ]
+                """.formatted(desafio.getId(), desafio.getId());
+
+        mockMvc.perform(lote("/solucoes/batch", itens))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidos").value(4))
+                .andExpect(jsonPath("$.gravados").value(1))
+                .andExpect(jsonPath("$.itens[0].sucesso").value(true))
+                .andExpect(jsonPath("$.itens[1].erro").value(startsWith("Desafio não encontrado")))
+                .andExpect(jsonPath("$.itens[2].erro").value("O link do repositório é obrigatório"))
+                .andExpect(jsonPath("$.itens[3].erro").value(startsWith("Desafio não encontrado")));
+    }
+
+    @Test
+    void itemNuloNoLoteDeSolucoesEhRejeitadoSemDerrubarOLote() throws Exception {
+        String itens = """
+                [null, {"desafioId": %d, "nomeAutor": "Ana", "linkRepositorio": "https://github.com/ana/lote"}]
+                """.formatted(desafio.getId());
+
+        mockMvc.perform(lote("/solucoes/batch", itens))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gravados").value(1))
+                .andExpect(jsonPath("$.itens[0].erro").value("Item vazio"))
+                .andExpect(jsonPath("$.itens[1].id").isNumber());
+    }
+
+    @Test
+    void envioUnitarioSegueAMesmaRegraDoLinkQueOLote() {
+        assertThatThrownBy(() -> mockMvc.perform(post("/solucoes")
+                        .param("desafioId", desafio.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nomeAutor\": \"Ana\", \"linkRepositorio\": \"\"}")
+                        .with(logado())))
+                .hasRootCauseMessage("O link do repositório é obrigatório");
+    }
+
+    @Test
+    void avaliacoesValidasSaoGravadasEAsInvalidasVoltamComOMotivo() throws Exception {
+        String itens = """
+                [
+                  {"solucaoId": %d, "nota": 4, "comentario": "Bom"},
+                  {"solucaoId": %d, "nota": 9},
+                  null,
+                  {"solucaoId": -1, "nota": 3}
+                ]
+                """.formatted(solucao.getId(), solucao.getId());
+
+        mockMvc.perform(lote("/avaliacoes/batch", itens))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recebidos").value(4))
+                .andExpect(jsonPath("$.gravados").value(1))
+                .andExpect(jsonPath("$.itens[0].sucesso").value(true))
+                .andExpect(jsonPath("$.itens[0].erro").value(nullValue()))
+                .andExpect(jsonPath("$.itens[1].erro").value(startsWith("Nota inválida")))
+                .andExpect(jsonPath("$.itens[2].erro").value(startsWith("Nota inválida")))
+                .andExpect(jsonPath("$.itens[3].erro").value(startsWith("Solução não encontrada")));
+
+        Solucao avaliada = solucaoRepository.findById(solucao.getId()).orElseThrow();
+        assertThat(avaliada.getAvaliacoes().getQuantidade()).isEqualTo(1);
+    }
+
+    @Test
+    void loteAcimaDoTamanhoMaximoEhRecusadoInteiro() {
+        String solucoes = "[" + String.join(",", Collections.nCopies(5,
+                "{\"desafioId\": " + desafio.getId() + ", \"nomeAutor\": \"Ana\", \"linkRepositorio\": \"https://github.com/ana/lote\"}")) + "]";
+        long antes = solucaoRepository.count();
+
+        assertThatThrownBy(() -> mockMvc.perform(lote("/solucoes/batch", solucoes)))
+                .hasRootCauseMessage("Lote grande demais: 5 itens (máximo 4)");
+        assertThatThrownBy(() -> mockMvc.perform(lote("/avaliacoes/batch", "[null, null, null, null, null]")))
+                .hasRootCauseMessage("Lote grande demais: 5 itens (máximo 4)");
+        assertThat(solucaoRepository.count()).isEqualTo(antes);
+    }
+
+    @Test
+    void loteVazioEhRecusado() {
+        assertThatThrownBy(() -> mockMvc.perform(lote("/solucoes/batch", "[]")))
+                .hasRootCauseMessage("Lote vazio");
+        assertThatThrownBy(() -> mockMvc.perform(lote("/avaliacoes/batch", "[]")))
+                .hasRootCauseMessage("Lote vazio");
+    }
+
+    private static MockHttpServletRequestBuilder lote(String url, String itens) {
+        return post(url).contentType(MediaType.APPLICATION_JSON).content(itens).with(logado());
+    }
+
+    // Um usuário por requisição: o limite de escrita (balde por usuário) não interfere no teste
+    private static RequestPostProcessor logado() {
+        return oauth2Login().attributes(atributos -> atributos.put("email", UUID.randomUUID() + "@devforge.com"));
+    }
+}
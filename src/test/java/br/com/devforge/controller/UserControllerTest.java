@@ -0,0 +1,70 @@
+package br.com.devforge.controller;
+
+import br.com.devforge.model.Usuario;
+import br.com.devforge.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void criarUsuario() {
+        usuario = new Usuario();
+        usuario.setNome("Dev");
+        usuario.setEmail(UUID.randomUUID() + "@devforge.com");
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void perfilLevaETagECacheSoNoNavegador() throws Exception {
+        List<String> etags = mockMvc.perform(get("/users/me").with(logado()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(usuario.getEmail()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeaders(HttpHeaders.ETAG);
+
+        assertThat(etags).hasSize(1); // O do checkNotModified e o do ResponseEntity não se repetem
+        assertThat(etags.getFirst()).startsWith("\"");
+    }
+
+    @Test
+    void perfilSemMudancaResponde304() throws Exception {
+        String etag = mockMvc.perform(get("/users/me").with(logado()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/me").with(logado()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    private RequestPostProcessor logado() {
+        return oauth2Login().attributes(atributos -> atributos.put("email", usuario.getEmail()));
+    }
+}
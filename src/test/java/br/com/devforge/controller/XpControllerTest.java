@@ -0,0 +1,106 @@
+package br.com.devforge.controller;
+
+import br.com.devforge.config.security.Administradores;
+import br.com.devforge.model.Usuario;
+import br.com.devforge.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oauth2Login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "auth.admins=admin@devforge.com")
+@AutoConfigureMockMvc
+class XpControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private Administradores administradores;
+
+    private Usuario dono;
+    private Usuario outro;
+
+    @BeforeEach
+    void criarUsuarios() {
+        dono = usuarioRepository.save(usuario());
+        outro = usuarioRepository.save(usuario());
+    }
+
+    @Test
+    void donoConsultaOProprioXp() throws Exception {
+        mockMvc.perform(get("/xp/usuarios/{id}/extrato", dono.getId()).with(logado(dono.getEmail())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/xp/usuarios/{id}/auditoria", dono.getId()).with(logado(dono.getEmail())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void xpDeOutroUsuarioEhNegado() throws Exception {
+        mockMvc.perform(get("/xp/usuarios/{id}/extrato", dono.getId()).with(logado(outro.getEmail())))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/xp/usuarios/{id}/auditoria", dono.getId()).with(logado(outro.getEmail())))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void semLoginNaoConsulta() throws Exception {
+        mockMvc.perform(get("/xp/usuarios/{id}/extrato", dono.getId()))
+                .andExpect(status().is(302)); // Redireciona para o login OAuth2
+    }
+
+    @Test
+    void adminConsultaXpDeQualquerUsuario() throws Exception {
+        mockMvc.perform(get("/xp/usuarios/{id}/auditoria", dono.getId()).with(admin()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void replaySoParaAdmin() throws Exception {
+        // Nem o dono do XP pode fazer o replay
+        mockMvc.perform(post("/xp/usuarios/{id}/replay", dono.getId()).with(logado(dono.getEmail())))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/xp/usuarios/{id}/replay", dono.getId()).with(admin()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void papelDeAdminVemDeAuthAdmins() {
+        assertThat(Administradores.ROLE_ADMIN).isIn(AuthorityUtils.authorityListToSet(administradores.autoridades("Admin@DevForge.com")));
+        assertThat(AuthorityUtils.authorityListToSet(administradores.autoridades(dono.getEmail()))).containsExactly("OAUTH2_USER");
+    }
+
+    // Papéis como o CustomOAuth2UserService monta no login real
+    private RequestPostProcessor logado(String email) {
+        return oauth2Login()
+                .attributes(atributos -> atributos.put("email", email))
+                .authorities(administradores.autoridades(email));
+    }
+
+    private RequestPostProcessor admin() {
+        return logado("admin@devforge.com");
+    }
+
+    private static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Dev");
+        usuario.setEmail(UUID.randomUUID() + "@devforge.com");
+        return usuario;
+    }
+}
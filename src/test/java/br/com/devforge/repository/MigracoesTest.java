@@ -0,0 +1,151 @@
+package br.com.devforge.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrações aplicadas sobre um banco que já existia antes delas (esquema inicial, com IDs por IDENTITY e dados),
+ * como o de produção: o Flyway marca a V1 como baseline e aplica o resto por cima.
+ * O resultado precisa ser o mesmo esquema de um banco criado do zero pelas migrações, que é o que o Hibernate valida.
+ */
+class MigracoesTest {
+
+    private static final String V1 = "db/migration/comum/V1__esquema_inicial.sql";
+    private static final String V2 = "db/migration/comum/V2__sequences_ledger_xp_e_moderacao.sql";
+
+    @Test
+    void bancoNoEsquemaInicialChegaAoMesmoEsquemaDeUmBancoNovo() {
+        DataSource existente = bancoNoEsquemaInicial();
+        migrar(existente);
+
+        DataSource novo = banco();
+        migrar(novo);
+
+        assertThat(colunas(existente)).isEqualTo(colunas(novo));
+        assertThat(indices(existente)).isEqualTo(indices(novo));
+    }
+
+    @Test
+    void sequencesComecamDepoisDosIdsJaGravados() {
+        DataSource existente = bancoNoEsquemaInicial();
+        migrar(existente);
+        JdbcTemplate jdbc = new JdbcTemplate(existente);
+
+        for (String tabela : List.of("usuarios", "desafio", "solucao", "avaliacao")) {
+            Long maiorId = jdbc.queryForObject("SELECT MAX(id) FROM " + tabela, Long.class);
+            // O Hibernate usa o bloco (valor - 49 .. valor) de cada nextval
+            Long proximo = jdbc.queryForObject("SELECT nextval('" + tabela + "_seq')", Long.class);
+            assertThat(proximo - 49).as(tabela).isGreaterThan(maiorId);
+        }
+    }
+
+    @Test
+    void linhasAntigasGanhamAsColunasNovasComValoresPadrao() {
+        DataSource existente = bancoNoEsquemaInicial();
+        migrar(existente);
+        JdbcTemplate jdbc = new JdbcTemplate(existente);
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM desafio WHERE moderado_em IS NULL", Integer.class)).isEqualTo(1);
+        assertThat(jdbc.queryForList("SELECT avaliacoes_quantidade, avaliacoes_soma FROM solucao"))
+                .allSatisfy(linha -> assertThat(linha.values()).containsOnly(0, 0L));
+        assertThat(jdbc.queryForObject("SELECT nivel FROM desafio WHERE titulo = 'Minusculo'", String.class)).isEqualTo("JUNIOR");
+    }
+
+    @Test
+    void pendentesDaModeracaoSincronaNaoVoltamParaAFila() {
+        DataSource existente = bancoNoEsquemaInicial();
+        migrar(existente);
+        JdbcTemplate jdbc = new JdbcTemplate(existente);
+
+        // 'Outro' já foi barrado pela moderação antiga e espera revisão humana
+        assertThat(jdbc.queryForObject("SELECT moderado_em FROM desafio WHERE titulo = 'Outro'", Object.class)).isNotNull();
+        assertThat(jdbc.queryForList(
+                "SELECT id FROM desafio WHERE status = 'PENDENTE' AND moderado_em IS NULL", Long.class)).isEmpty();
+    }
+
+    @Test
+    void xpGanhoAntesDoLedgerViraSaldoInicial() {
+        DataSource existente = bancoNoEsquemaInicial();
+        migrar(existente);
+        JdbcTemplate jdbc = new JdbcTemplate(existente);
+
+        assertThat(jdbc.queryForList("SELECT usuario_id, xp, motivo FROM eventos_xp WHERE aplicado_em IS NOT NULL"))
+                .containsExactly(Map.of("usuario_id", 1L, "xp", 120, "motivo", "SALDO_INICIAL"));
+    }
+
+    @Test
+    void estruturasDaV2JaExistentesNaoQuebramAMigracao() {
+        // Banco que o ddl-auto=update já tinha atualizado: a V2 encontra tudo pronto
+        DataSource existente = bancoNoEsquemaInicial();
+        executar(existente, V2);
+        migrar(existente);
+
+        DataSource novo = banco();
+        migrar(novo);
+        assertThat(colunas(existente)).isEqualTo(colunas(novo));
+    }
+
+    private static DataSource bancoNoEsquemaInicial() {
+        DataSource banco = banco();
+        executar(banco, V1);
+        JdbcTemplate jdbc = new JdbcTemplate(banco);
+        jdbc.update("INSERT INTO usuarios (nome, email, cadastro_completo, xp_total, nivel) VALUES ('Ana', 'ana@x.com', TRUE, 120, 'Junior')");
+        jdbc.update("INSERT INTO usuarios (nome, email, cadastro_completo, xp_total, nivel) VALUES ('Bia', 'bia@x.com', TRUE, NULL, NULL)");
+        jdbc.update("""
+                INSERT INTO desafio (titulo, contexto, requisitos_funcionais, requisitos_tecnicos, nivel, stack, status, criador_api)
+                VALUES ('Minusculo', 'Contexto', 'Funcionais', 'Tecnicos', 'junior', 'Java', 'APROVADO', 1),
+                       ('Outro', 'Contexto', 'Funcionais', 'Tecnicos', 'PLENO', 'Go', 'PENDENTE', 2)
+                """);
+        jdbc.update("INSERT INTO solucao (nome_autor, status, desafio_id) VALUES ('Ana', 'ENVIADA', 1), ('Bia', 'ENVIADA', 1)");
+        jdbc.update("INSERT INTO avaliacao (nota, solucao_id) VALUES (5, 1), (4, 2)");
+        return banco;
+    }
+
+    private static DataSource banco() {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:migracoes-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // Mesma configuração do application.properties
+    private static void migrar(DataSource banco) {
+        Flyway.configure()
+                .dataSource(banco)
+                .locations("classpath:db/migration/comum", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private static void executar(DataSource banco, String script) {
+        new ResourceDatabasePopulator(new ClassPathResource(script)).execute(banco);
+    }
+
+    private static List<Map<String, Object>> colunas(DataSource banco) {
+        return new JdbcTemplate(banco).queryForList("""
+                SELECT table_name, column_name, data_type, is_nullable, is_identity, column_default
+                FROM information_schema.columns
+                WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'
+                ORDER BY table_name, column_name
+                """);
+    }
+
+    private static List<String> indices(DataSource banco) {
+        return new JdbcTemplate(banco).queryForList("""
+                SELECT index_name FROM information_schema.indexes
+                WHERE table_schema = 'public' AND index_name LIKE 'idx%'
+                ORDER BY index_name
+                """, String.class);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.devforge.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere no plano de execução (EXPLAIN) que as consultas quentes usam índice, e não varredura da tabela.
+ * <p>
+ * O schema vem das próprias migrações do Flyway, num H2 em modo PostgreSQL com volume suficiente para
+ * o otimizador comparar custos (ANALYZE). O SQL é o que o Hibernate gera para as consultas dos repositórios.
+ * O H2 cria sozinho um índice para cada chave estrangeira e o prefere nas consultas de soluções e avaliações;
+ * no PostgreSQL, que não cria esses índices, quem atende são os de db/migration/comum/V4.
+ * </p>
+ */
+class PlanoConsultasTest {
+
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void criarBanco() {
+        DataSource banco = new DriverManagerDataSource(
+                "jdbc:h2:mem:plano-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(banco)
+                .locations("classpath:db/migration/comum", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(banco);
+
+        String[] niveis = {"INICIANTE", "JUNIOR", "PLENO", "SENIOR"};
+        String[] status = {"APROVADO", "APROVADO", "APROVADO", "PENDENTE", "REJEITADO"};
+        jdbc.batchUpdate("""
+                        INSERT INTO desafio (id, titulo, contexto, requisitos_funcionais, requisitos_tecnicos, nivel, stack, status, moderado_em)
+                        VALUES (?, 'Titulo', 'Contexto', 'Funcionais', 'Tecnicos', ?, 'Java', ?, CASE WHEN ? THEN NULL ELSE CURRENT_TIMESTAMP END)
+                        """,
+                IntStream.rangeClosed(1, 2_000)
+                        .mapToObj(i -> new Object[]{i, niveis[i % 4], status[i % 5], i > 1_990})
+                        .toList());
+        jdbc.batchUpdate("INSERT INTO solucao (id, desafio_id, nome_autor, status, data_envio) VALUES (?, ?, 'Autor', 'ENVIADA', CURRENT_TIMESTAMP)",
+                IntStream.rangeClosed(1, 10_000).mapToObj(i -> new Object[]{i, 1 + i % 200}).toList());
+        jdbc.batchUpdate("INSERT INTO avaliacao (id, solucao_id, nota) VALUES (?, ?, 5)",
+                IntStream.rangeClosed(1, 10_000).mapToObj(i -> new Object[]{i, 1 + i % 3_000}).toList());
+        jdbc.execute("ANALYZE");
+    }
+
+    @Test
+    void catalogoSemNivelUsaIndiceDeStatus() {
+        // DesafioRepository.buscarPagina(status, after, limite)
+        assertThat(plano("""
+                SELECT d.id, d.titulo, d.nivel, d.stack, d.data_criacao FROM desafio d
+                WHERE d.status = ? AND d.id > ? ORDER BY d.id FETCH FIRST ? ROWS ONLY
+                """, "APROVADO", 0L, 21))
+                .contains("idx_desafio_status_id")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void catalogoPorNivelUsaIndiceDeStatusENivel() {
+        // DesafioRepository.buscarPaginaPorNivel
+        assertThat(plano("""
+                SELECT d.id, d.titulo, d.nivel, d.stack, d.data_criacao FROM desafio d
+                WHERE d.status = ? AND d.nivel = ? AND d.id > ? ORDER BY d.id FETCH FIRST ? ROWS ONLY
+                """, "APROVADO", "PLENO", 0L, 21))
+                .contains("idx_desafio_status_nivel_id")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void filaDeModeracaoUsaIndice() {
+        // DesafioRepository.buscarIdsAguardandoModeracao (no PostgreSQL, o índice parcial idx_desafio_aguardando_moderacao)
+        assertThat(plano("""
+                SELECT d.id FROM desafio d
+                WHERE d.status = 'PENDENTE' AND d.moderado_em IS NULL ORDER BY d.id FETCH FIRST ? ROWS ONLY
+                """, 100))
+                .contains("idx_desafio_status_id")
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void solucoesDoDesafioUsamIndice() {
+        // SolucaoRepository.buscarPorDesafio (ordenação padrão), a contagem da página e streamPorDesafio
+        assertThat(plano("""
+                SELECT s.id, s.nome_autor, s.link_repositorio, s.status, s.data_envio FROM solucao s
+                WHERE s.desafio_id = ? ORDER BY s.data_envio DESC NULLS LAST, s.id DESC OFFSET ? ROWS FETCH FIRST ? ROWS ONLY
+                """, 1L, 0, 10))
+                .contains("desafio_id = ?1")
+                .doesNotContain("tableScan");
+        assertThat(plano("SELECT COUNT(s.id) FROM solucao s WHERE s.desafio_id = ?", 1L))
+                .doesNotContain("tableScan");
+        assertThat(plano("SELECT s.id, s.nome_autor FROM solucao s WHERE s.desafio_id = ? ORDER BY s.id DESC", 1L))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void avaliacoesDaSolucaoUsamIndice() {
+        // Subconsultas de SolucaoRepository.recalcularTotaisPendentes
+        assertThat(plano("SELECT COUNT(a.id) FROM avaliacao a WHERE a.solucao_id = ?", 1L))
+                .contains("solucao_id = ?1")
+                .doesNotContain("tableScan");
+    }
+
+    private static String plano(String sql, Object... parametros) {
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class, parametros);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.devforge.service;
+
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.event.DesafioAlteradoEvent;
+import br.com.devforge.model.Desafio;
+import br.com.devforge.repository.DesafioRepository;
+import br.com.devforge.service.busca.ModoCombinacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CatalogoServiceTest {
+
+    private DesafioRepository repository;
+    private CatalogoService catalogo;
+
+    @BeforeEach
+    void criarServico() {
+        repository = Mockito.mock(DesafioRepository.class);
+        Mockito.when(repository.buscarPagina(anyString(), any(), anyLong(), any(Limit.class)))
+                .thenReturn(List.of(new DesafioResumo(1L, "Titulo", "JUNIOR", "Java", null)));
+
+        catalogo = new CatalogoService();
+        ReflectionTestUtils.setField(catalogo, "repository", repository);
+        ReflectionTestUtils.setField(catalogo, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        ReflectionTestUtils.setField(catalogo, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(catalogo, "maxIdade", Duration.ofHours(1));
+        ReflectionTestUtils.setField(catalogo, "maxEntradas", 4);
+        catalogo.inicializar();
+    }
+
+    @Test
+    void primeiraPaginaVemDoSnapshot() {
+        catalogo.listarJson(null, List.of(), ModoCombinacao.AND, null, 20);
+        catalogo.listarJson(null, List.of(), ModoCombinacao.AND, null, 20);
+
+        verify(repository, times(1)).buscarPagina(anyString(), isNull(), eq(0L), any(Limit.class));
+    }
+
+    @Test
+    void paginasSeguintesNaoTiramAPrimeiraDoCache() {
+        catalogo.listarJson(null, List.of(), ModoCombinacao.AND, null, 20);
+
+        // Crawler paginando o catálogo inteiro: cada cursor vai ao banco e não ocupa o cache
+        for (long after = 1; after <= 500; after++) {
+            catalogo.listarJson(null, List.of(), ModoCombinacao.AND, after, 20);
+        }
+        catalogo.listarJson(null, List.of(), ModoCombinacao.AND, null, 20);
+
+        verify(repository, times(1)).buscarPagina(anyString(), isNull(), eq(0L), any(Limit.class));
+        verify(repository, times(500)).buscarPagina(anyString(), isNull(), Mockito.longThat(after -> after > 0), any(Limit.class));
+    }
+
+    @Test
+    void alteracaoDoNivelRemontaAPagina() {
+        catalogo.listarJson("JUNIOR", List.of(), ModoCombinacao.AND, null, 20);
+        catalogo.onDesafioAlterado(new DesafioAlteradoEvent(desafio("junior")));
+        catalogo.listarJson("JUNIOR", List.of(), ModoCombinacao.AND, null, 20);
+
+        verify(repository, times(2)).buscarPagina(anyString(), eq("JUNIOR"), eq(0L), any(Limit.class));
+    }
+
+    private static Desafio desafio(String nivel) {
+        Desafio desafio = new Desafio();
+        desafio.setNivel(nivel);
+        return desafio;
+    }
+}
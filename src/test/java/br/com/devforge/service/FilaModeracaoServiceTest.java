@@ -0,0 +1,182 @@
+package br.com.devforge.service;
+
+import br.com.devforge.event.DesafioAlteradoEvent;
+import br.com.devforge.model.Desafio;
+import br.com.devforge.repository.DesafioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FilaModeracaoServiceTest {
+
+    private static final long ESPERA_MS = 2000;
+
+    private final DesafioRepository repository = mock(DesafioRepository.class);
+    private final ModeracaoService moderacaoService = mock(ModeracaoService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FilaModeracaoService fila;
+
+    @BeforeEach
+    void criarFila() {
+        // Transação que só executa o callback
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+
+        fila = new FilaModeracaoService();
+        ReflectionTestUtils.setField(fila, "repository", repository);
+        ReflectionTestUtils.setField(fila, "moderacaoService", moderacaoService);
+        ReflectionTestUtils.setField(fila, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(fila, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(fila, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(fila, "capacidade", 10);
+        ReflectionTestUtils.setField(fila, "quantidadeWorkers", 1);
+        ReflectionTestUtils.setField(fila, "tamanhoLote", 2);
+        ReflectionTestUtils.invokeMethod(fila, "inicializar");
+
+        // O banco devolve os desafios pedidos como PENDENTE e ainda não moderados
+        doAnswer(invocacao -> {
+            List<Desafio> desafios = new ArrayList<>();
+            invocacao.<Iterable<Long>>getArgument(0).forEach(id -> desafios.add(desafio(id, "PENDENTE", null)));
+            return desafios;
+        }).when(repository).findAllById(any());
+        when(moderacaoService.isConteudoSeguro(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void pararWorkers() {
+        ReflectionTestUtils.invokeMethod(fila, "parar");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processaAFilaEmLotesDoTamanhoConfigurado() {
+        for (long id = 1; id <= 5; id++) {
+            fila.enfileirar(desafio(id, "PENDENTE", null));
+        }
+        assertThat(tamanhoDaFila()).isEqualTo(5);
+
+        fila.iniciarWorkers();
+
+        ArgumentCaptor<Iterable<Long>> lotes = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository, timeout(ESPERA_MS).times(3)).findAllById(lotes.capture());
+        assertThat(lotes.getAllValues()).map(lote -> (Collection<Long>) lote)
+                .containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        verify(eventPublisher, timeout(ESPERA_MS).times(5)).publishEvent(any(DesafioAlteradoEvent.class));
+    }
+
+    @Test
+    void publicaOEventoSoDosAprovados() {
+        Desafio limpo = desafio(1L, "PENDENTE", null);
+        Desafio suspeito = desafio(2L, "PENDENTE", null);
+        doReturn(List.of(limpo, suspeito)).when(repository).findAllById(any());
+        when(moderacaoService.isConteudoSeguro(suspeito)).thenReturn(false);
+        fila.enfileirar(limpo);
+        fila.enfileirar(suspeito);
+
+        fila.iniciarWorkers();
+
+        ArgumentCaptor<DesafioAlteradoEvent> eventos = ArgumentCaptor.forClass(DesafioAlteradoEvent.class);
+        verify(eventPublisher, after(200).times(1)).publishEvent(eventos.capture());
+        assertThat(eventos.getValue().desafio()).isSameAs(limpo);
+        assertThat(limpo.getStatus()).isEqualTo("APROVADO");
+        // Continua fora do catálogo, esperando revisão humana, mas não volta para a fila
+        assertThat(suspeito.getStatus()).isEqualTo("PENDENTE");
+        assertThat(suspeito.getModeradoEm()).isNotNull();
+    }
+
+    @Test
+    void pulaDesafiosJaModeradosOuRevisados() {
+        LocalDateTime ontem = LocalDateTime.now().minusDays(1);
+        Desafio barradoAntes = desafio(1L, "PENDENTE", ontem);
+        Desafio revisado = desafio(2L, "REJEITADO", null);
+        doReturn(List.of(barradoAntes, revisado)).when(repository).findAllById(any());
+        fila.enfileirar(barradoAntes);
+        fila.enfileirar(revisado);
+
+        fila.iniciarWorkers();
+
+        verify(repository, timeout(ESPERA_MS)).findAllById(any());
+        verify(moderacaoService, after(200).never()).isConteudoSeguro(any());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThat(barradoAntes.getStatus()).isEqualTo("PENDENTE");
+        assertThat(barradoAntes.getModeradoEm()).isEqualTo(ontem);
+    }
+
+    @Test
+    void recuperacaoEnfileiraOsPendentesDoBancoSemRepetir() {
+        when(repository.buscarIdsAguardandoModeracao(any(Limit.class))).thenReturn(List.of(1L, 2L, 3L));
+        fila.enfileirar(desafio(1L, "PENDENTE", null)); // Já na fila
+
+        fila.recuperarPendentes();
+        fila.recuperarPendentes();
+
+        assertThat(tamanhoDaFila()).isEqualTo(3);
+        // Só cabe o espaço livre na fila
+        verify(repository).buscarIdsAguardandoModeracao(Limit.of(9));
+        verify(repository).buscarIdsAguardandoModeracao(Limit.of(7));
+    }
+
+    @Test
+    void loteQueFalhaVoltaNaProximaRecuperacao() {
+        List<Desafio> tentativas = new ArrayList<>();
+        doAnswer(invocacao -> {
+            Desafio desafio = desafio(1L, "PENDENTE", null);
+            tentativas.add(desafio);
+            return List.of(desafio);
+        }).when(repository).findAllById(any());
+        when(moderacaoService.isConteudoSeguro(any()))
+                .thenThrow(new RuntimeException("Blocklist indisponível"))
+                .thenReturn(true);
+        when(repository.buscarIdsAguardandoModeracao(any(Limit.class))).thenReturn(List.of(1L));
+
+        fila.iniciarWorkers(); // A recuperação do startup enfileira o 1, e a moderação falha
+        verify(repository, timeout(ESPERA_MS)).findAllById(any());
+        verify(eventPublisher, after(200).never()).publishEvent(any());
+
+        fila.recuperarPendentes();
+
+        verify(eventPublisher, timeout(ESPERA_MS)).publishEvent(any(DesafioAlteradoEvent.class));
+        assertThat(tentativas).hasSize(2);
+        assertThat(tentativas.getLast().getStatus()).isEqualTo("APROVADO");
+    }
+
+    private double tamanhoDaFila() {
+        return meterRegistry.get("moderacao.fila.tamanho").gauge().value();
+    }
+
+    private static Desafio desafio(Long id, String status, LocalDateTime moderadoEm) {
+        Desafio desafio = new Desafio();
+        desafio.setId(id);
+        desafio.setStatus(status);
+        desafio.setModeradoEm(moderadoEm);
+        return desafio;
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.devforge.service;
+
+import br.com.devforge.model.Desafio;
+import br.com.devforge.service.moderacao.OcorrenciaTermo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recarga da blocklist externa ({@code moderacao.blocklist.caminho}) pela verificação periódica.
+ */
+class ModeracaoServiceTest {
+
+    @TempDir
+    private Path pasta;
+
+    private Path arquivo;
+    private ModeracaoService moderacao;
+
+    // Data de modificação controlada pelo teste: a assinatura do arquivo muda mesmo com o mesmo tamanho
+    private long modificadoEm = 1_000_000;
+
+    @BeforeEach
+    void carregarBlocklist() throws IOException {
+        arquivo = pasta.resolve("blocklist.txt");
+        gravar("spam", "golpe");
+
+        moderacao = new ModeracaoService();
+        ReflectionTestUtils.setField(moderacao, "limitePalavra", true);
+        ReflectionTestUtils.setField(moderacao, "caminhoBlocklist", arquivo.toString());
+        ReflectionTestUtils.setField(moderacao, "cacheMaxEntradas", 100L);
+        ReflectionTestUtils.setField(moderacao, "cacheTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(moderacao, "meterRegistry", new SimpleMeterRegistry());
+        moderacao.carregarTermos();
+    }
+
+    @Test
+    void arquivoAlteradoEhRecarregadoComVersaoNova() throws IOException {
+        Desafio comSpam = desafio("Ganhe com spam");
+        Desafio comCassino = desafio("Cassino online");
+        assertThat(moderacao.isConteudoSeguro(comSpam)).isFalse();
+        assertThat(moderacao.isConteudoSeguro(comCassino)).isTrue();
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(1);
+
+        gravar("cassino");
+        moderacao.verificarAlteracoes();
+
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(2);
+        assertThat(moderacao.getSnapshot().automato().quantidadeTermos()).isEqualTo(1);
+        // Vereditos da versão anterior não valem para a nova
+        assertThat(moderacao.isConteudoSeguro(comSpam)).isTrue();
+        assertThat(moderacao.isConteudoSeguro(comCassino)).isFalse();
+    }
+
+    @Test
+    void arquivoSemAlteracaoNaoTrocaAVersao() {
+        moderacao.verificarAlteracoes();
+        moderacao.verificarAlteracoes();
+
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(1);
+    }
+
+    @Test
+    void arquivoRemovidoMantemAVersaoAtual() throws IOException {
+        Files.delete(arquivo);
+        moderacao.verificarAlteracoes();
+
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(1);
+        assertThat(moderacao.isConteudoSeguro(desafio("Ganhe com spam"))).isFalse();
+
+        // Quando o arquivo volta, a recarga segue normalmente
+        gravar("cassino");
+        moderacao.verificarAlteracoes();
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(2);
+    }
+
+    @Test
+    void arquivoIlegivelMantemAVersaoAtual() throws IOException {
+        // Arquivo pela metade / encoding errado: a leitura em UTF-8 falha
+        Files.write(arquivo, new byte[]{'s', 'p', (byte) 0xC3, 0x28});
+        Files.setLastModifiedTime(arquivo, FileTime.fromMillis(++modificadoEm));
+        moderacao.verificarAlteracoes();
+
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(1);
+        assertThat(moderacao.isConteudoSeguro(desafio("Ganhe com spam"))).isFalse();
+
+        // Corrigido o arquivo, a próxima verificação carrega normalmente
+        gravar("cassino");
+        moderacao.verificarAlteracoes();
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(2);
+    }
+
+    @Test
+    void analisesDuranteARecargaVeemAVersaoAntigaOuANovaInteira() throws Exception {
+        List<String> antiga = List.of("alfa", "beta");
+        List<String> nova = List.of("beta", "gama");
+        gravar(antiga.toArray(String[]::new));
+        moderacao.verificarAlteracoes();
+        Desafio desafio = desafio("alfa beta gama");
+
+        Set<Set<String>> vistos = ConcurrentHashMap.newKeySet();
+        AtomicBoolean recarregando = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> leitores = List.of(1, 2, 3).stream()
+                    .map(i -> executor.submit(() -> {
+                        boolean sempreRetido = true;
+                        while (recarregando.get()) {
+                            // As duas versões retêm o desafio; uma lista vazia ou pela metade o deixaria passar
+                            sempreRetido &= !moderacao.isConteudoSeguro(desafio);
+                            vistos.add(moderacao.analisar(desafio).stream()
+                                    .map(OcorrenciaTermo::termo)
+                                    .collect(Collectors.toSet()));
+                        }
+                        return sempreRetido;
+                    }))
+                    .toList();
+
+            for (int i = 0; i < 200; i++) {
+                gravar((i % 2 == 0 ? nova : antiga).toArray(String[]::new));
+                moderacao.verificarAlteracoes();
+            }
+            recarregando.set(false);
+
+            for (Future<Boolean> leitor : leitores) {
+                assertThat(leitor.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(moderacao.getSnapshot().versao()).isEqualTo(202);
+        assertThat(vistos).isNotEmpty().isSubsetOf(Set.copyOf(antiga), Set.copyOf(nova));
+    }
+
+    private void gravar(String... termos) throws IOException {
+        Files.write(arquivo, List.of(termos));
+        Files.setLastModifiedTime(arquivo, FileTime.fromMillis(++modificadoEm));
+    }
+
+    private static Desafio desafio(String titulo) {
+        Desafio desafio = new Desafio();
+        desafio.setTitulo(titulo);
+        desafio.setContexto("Contexto do desafio");
+        return desafio;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.devforge.service;
+
+import br.com.devforge.dto.AuditoriaXp;
+import br.com.devforge.model.Usuario;
+import br.com.devforge.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class XpServiceTest {
+
+    @Autowired
+    private XpService xpService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void replayMantemOXpGanhoAntesDoLedger() {
+        // Usuário com XP gravado direto na coluna, como os que já existiam antes do ledger
+        Usuario usuario = new Usuario();
+        usuario.setNome("Veterano");
+        usuario.setEmail(UUID.randomUUID() + "@devforge.com");
+        usuario.setXpTotal(1200);
+        usuario.setNivel("PLENO I");
+        Long id = usuarioRepository.save(usuario).getId();
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/comum/V6__saldo_inicial_xp.sql")).execute(dataSource);
+        assertThat(xpService.auditar(id).divergente()).isFalse();
+
+        AuditoriaXp depois = xpService.replay(id);
+
+        assertThat(depois.xpAtual()).isEqualTo(1200);
+        assertThat(depois.divergente()).isFalse();
+        assertThat(usuarioRepository.findById(id).orElseThrow().getNivel()).isEqualTo("PLENO I");
+    }
+
+    @Test
+    void ganhosDoLedgerChegamAoUsuarioComOAgregadorPadrao() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Novato");
+        usuario.setEmail(UUID.randomUUID() + "@devforge.com");
+        Long id = usuarioRepository.save(usuario).getId();
+
+        xpService.registrar(id, 150, "SOLUCAO_APROVADA");
+        xpService.registrar(id, 60, "REVIEW");
+        xpService.aplicarPendentes(); // Ligado sem configuração (xp.agregador.habilitado)
+
+        Usuario depois = usuarioRepository.findById(id).orElseThrow();
+        assertThat(depois.getXpTotal()).isEqualTo(210);
+        assertThat(depois.getNivel()).isEqualTo(Usuario.calcularNivel(210));
+        assertThat(xpService.auditar(id).divergente()).isFalse();
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.dto.DesafioDocumento;
+import br.com.devforge.dto.DesafioEncontrado;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceInvertidoTest {
+
+    @Test
+    void ignoraAcentosECaixaNoTextoENaConsulta() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(desafio(1, "Integração de Pagamentos", "Java", "Receber notificações do gateway."));
+
+        assertThat(ids(indice.buscar("INTEGRACAO", 10))).containsExactly(1L);
+        assertThat(ids(indice.buscar("notificaçoes", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void exigeTodosOsTermosEAceitaPrefixo() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(desafio(1, "API de pedidos", "Spring Boot", "Microsserviços com mensageria."));
+        indice.indexar(desafio(2, "Dashboard de vendas", "React", "Gráficos consumindo uma API REST."));
+
+        assertThat(ids(indice.buscar("api micro", 10))).containsExactly(1L);
+        assertThat(ids(indice.buscar("spr", 10))).containsExactly(1L);
+        assertThat(ids(indice.buscar("api kafka", 10))).isEmpty();
+        assertThat(ids(indice.buscar("de para", 10))).isEmpty(); // Só stopwords
+    }
+
+    @Test
+    void ordenaPelaRelevancia() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(desafio(1, "Cadastro de clientes", "Java", "Tela simples. Pode usar cache se quiser."));
+        indice.indexar(desafio(2, "Cache distribuído", "Java Redis", "Implementar cache com expiração e invalidação de cache."));
+        indice.indexar(desafio(3, "Relatórios", "Python", "Exportar relatórios em PDF."));
+
+        IndiceInvertido.Resultado resultado = indice.buscar("cache", 10);
+        assertThat(ids(resultado)).containsExactly(2L, 1L);
+        assertThat(resultado.total()).isEqualTo(2);
+
+    }
+
+    @Test
+    void termoExatoValeMaisQueExpansaoDoPrefixo() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(desafio(1, "Java", "Go", "Backend."));
+        indice.indexar(desafio(2, "Javascript", "Go", "Backend."));
+
+        assertThat(ids(indice.buscar("java", 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void reindexarERemoverAtualizamOIndice() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(desafio(1, "Fila de pedidos", "Kotlin", "Processar pedidos."));
+        indice.indexar(desafio(1, "Fila de pagamentos", "Kotlin", "Processar pagamentos."));
+
+        assertThat(ids(indice.buscar("pedidos", 10))).isEmpty();
+        assertThat(ids(indice.buscar("pagamentos", 10))).containsExactly(1L);
+        assertThat(indice.tamanho()).isEqualTo(1);
+
+        assertThat(indice.remover(1)).isTrue();
+        assertThat(indice.tamanho()).isZero();
+        assertThat(indice.quantidadeTermos()).isZero();
+    }
+
+    @Test
+    void limitaAQuantidadeDeResultadosMasInformaOTotal() {
+        IndiceInvertido indice = new IndiceInvertido();
+        for (long id = 1; id <= 30; id++) {
+            indice.indexar(desafio(id, "CRUD", "Java", "Cadastro básico."));
+        }
+
+        IndiceInvertido.Resultado resultado = indice.buscar("crud", 5);
+        assertThat(resultado.itens()).hasSize(5);
+        assertThat(resultado.total()).isEqualTo(30);
+        // Mesma relevância: os mais recentes primeiro
+        assertThat(ids(resultado)).containsExactly(30L, 29L, 28L, 27L, 26L);
+    }
+
+    private static List<Long> ids(IndiceInvertido.Resultado resultado) {
+        return resultado.itens().stream().map(DesafioEncontrado::desafio).map(d -> d.id()).toList();
+    }
+
+    private static DesafioDocumento desafio(long id, String titulo, String stack, String contexto) {
+        return new DesafioDocumento(id, titulo, "JUNIOR", stack, LocalDate.now(), contexto, "", "");
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.dto.DesafioResumo;
+import br.com.devforge.model.Desafio;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceProtegidoTest {
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:indice-" + UUID.randomUUID(), "sa", "")));
+
+    @Test
+    void aplicaSoOsAprovados() {
+        IndiceProtegido<IndiceTags, DesafioResumo> indice = indice();
+
+        indice.aplicar(desafio(1L, "APROVADO"));
+        indice.aplicar(desafio(2L, "PENDENTE"));
+        assertThat(ids(indice)).containsExactly(1L);
+
+        indice.aplicar(desafio(1L, "REJEITADO"));
+        assertThat(ids(indice)).isEmpty();
+    }
+
+    @Test
+    void eventoDuranteACargaEhAplicadoPorCima() throws InterruptedException {
+        IndiceProtegido<IndiceTags, DesafioResumo> indice = indice();
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+
+        // A carga leu o desafio ainda aprovado; enquanto ela roda, ele é rejeitado
+        Thread carga = Thread.ofPlatform().start(() -> indice.carregar(transactionTemplate, () -> {
+            cargaIniciada.countDown();
+            aguardar(liberarCarga);
+            return Stream.of(resumo(1L), resumo(2L));
+        }));
+        cargaIniciada.await();
+        Thread evento = Thread.ofPlatform().start(() -> indice.aplicar(desafio(1L, "REJEITADO")));
+        Thread.sleep(100); // O evento fica esperando o write lock da carga
+        liberarCarga.countDown();
+        carga.join();
+        evento.join();
+
+        assertThat(ids(indice)).containsExactly(2L);
+    }
+
+    private static IndiceProtegido<IndiceTags, DesafioResumo> indice() {
+        return new IndiceProtegido<>(new IndiceTags(),
+                desafio -> resumo(desafio.getId()), IndiceTags::indexar, IndiceTags::remover);
+    }
+
+    private static List<Long> ids(IndiceProtegido<IndiceTags, DesafioResumo> indice) {
+        return indice.ler(i -> i.pagina(i.filtrar(List.of(), true, null), 0, 10)).stream()
+                .map(DesafioResumo::id)
+                .toList();
+    }
+
+    private static Desafio desafio(Long id, String status) {
+        Desafio desafio = new Desafio();
+        desafio.setId(id);
+        desafio.setStatus(status);
+        return desafio;
+    }
+
+    private static DesafioResumo resumo(Long id) {
+        return new DesafioResumo(id, "Desafio " + id, "JUNIOR", "Java", null);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
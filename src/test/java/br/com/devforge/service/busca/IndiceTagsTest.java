@@ -0,0 +1,91 @@
+package br.com.devforge.service.busca;
+
+import br.com.devforge.dto.DesafioResumo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class IndiceTagsTest {
+
+    @Test
+    void normalizaAsTagsDoCampoStack() {
+        assertThat(IndiceTags.normalizarTags("Java, Spring  Boot,Docker, java, "))
+                .containsExactly("docker", "java", "spring boot");
+        assertThat(IndiceTags.normalizarTags("Node.js / Express; MongoDB")).containsExactly("express", "mongodb", "node.js");
+        assertThat(IndiceTags.normalizarTags(null)).isEmpty();
+    }
+
+    @Test
+    void filtraComAndEOr() {
+        IndiceTags indice = indiceDeExemplo();
+
+        assertThat(ids(indice, List.of("java", "docker"), true, null)).containsExactly(1L, 3L);
+        assertThat(ids(indice, List.of("python", "react"), false, null)).containsExactly(2L, 4L);
+        assertThat(ids(indice, List.of("java", "docker"), true, "PLENO")).containsExactly(3L);
+        assertThat(ids(indice, List.of("rust"), true, null)).isEmpty();
+        assertThat(ids(indice, List.of(), true, null)).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void paginaPorIdAPartirDoCursor() {
+        IndiceTags indice = new IndiceTags();
+        for (long id = 50; id >= 1; id--) {
+            indice.indexar(desafio(id, "Java", "JUNIOR")); // Fora de ordem de propósito
+        }
+        BitSet todos = indice.filtrar(List.of("java"), true, null);
+
+        assertThat(indice.pagina(todos, 0, 3)).extracting(DesafioResumo::id).containsExactly(1L, 2L, 3L);
+        assertThat(indice.pagina(todos, 48, 3)).extracting(DesafioResumo::id).containsExactly(49L, 50L);
+    }
+
+    @Test
+    void contaFacetasDentroDaSelecao() {
+        IndiceTags indice = indiceDeExemplo();
+
+        BitSet todos = indice.filtrar(List.of(), true, null);
+        assertThat(indice.contarTags(todos)).containsExactly(
+                entry("docker", 3), entry("java", 2), entry("python", 1), entry("react", 1), entry("spring boot", 1));
+        assertThat(indice.contarNiveis(todos)).containsExactly(entry("JUNIOR", 2), entry("PLENO", 2));
+
+        BitSet comDocker = indice.filtrar(List.of("docker"), true, "JUNIOR");
+        assertThat(indice.contarTags(comDocker)).containsExactly(
+                entry("docker", 2), entry("java", 1), entry("python", 1), entry("spring boot", 1));
+    }
+
+    @Test
+    void reindexarERemoverLiberamOsSlots() {
+        IndiceTags indice = indiceDeExemplo();
+        indice.indexar(desafio(1, "Go", "SENIOR"));
+        indice.remover(2);
+
+        assertThat(ids(indice, List.of("java"), true, null)).containsExactly(3L);
+        assertThat(ids(indice, List.of("go"), true, "SENIOR")).containsExactly(1L);
+        assertThat(indice.contarTags(indice.filtrar(List.of(), true, null))).doesNotContainKey("python");
+
+        indice.indexar(desafio(9, "Rust", "PLENO")); // Ocupa o slot liberado
+        assertThat(indice.tamanho()).isEqualTo(4);
+        assertThat(ids(indice, List.of("rust"), true, null)).containsExactly(9L);
+    }
+
+    private static IndiceTags indiceDeExemplo() {
+        IndiceTags indice = new IndiceTags();
+        indice.indexar(desafio(1, "Java, Spring Boot, Docker", "JUNIOR"));
+        indice.indexar(desafio(2, "Python, Docker", "JUNIOR"));
+        indice.indexar(desafio(3, "java, docker", "PLENO"));
+        indice.indexar(desafio(4, "React", "PLENO"));
+        return indice;
+    }
+
+    private static List<Long> ids(IndiceTags indice, List<String> tags, boolean todas, String nivel) {
+        return indice.pagina(indice.filtrar(tags, todas, nivel), 0, 100).stream().map(DesafioResumo::id).toList();
+    }
+
+    private static DesafioResumo desafio(long id, String stack, String nivel) {
+        return new DesafioResumo(id, "Desafio " + id, nivel, stack, LocalDate.now());
+    }
+}
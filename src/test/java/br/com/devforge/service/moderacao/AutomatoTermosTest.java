@@ -0,0 +1,57 @@
+package br.com.devforge.service.moderacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AutomatoTermosTest {
+
+    private static List<OcorrenciaTermo> buscar(AutomatoTermos automato, String texto) {
+        List<OcorrenciaTermo> ocorrencias = new ArrayList<>();
+        automato.buscar("contexto", texto, ocorrencias);
+        return ocorrencias;
+    }
+
+    @Test
+    void encontraTodosOsTermosComPosicao() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("he", "she", "his", "hers"), false);
+
+        assertThat(buscar(automato, "ushers")).containsExactly(
+                new OcorrenciaTermo("she", "contexto", 1),
+                new OcorrenciaTermo("he", "contexto", 2),
+                new OcorrenciaTermo("hers", "contexto", 2));
+    }
+
+    @Test
+    void ignoraCaixaEAcentos() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("Compre Já", "Dinheiro rápido"), true);
+
+        assertThat(buscar(automato, "COMPRE JA e ganhe DINHEIRO RAPIDO"))
+                .extracting(OcorrenciaTermo::termo, OcorrenciaTermo::posicao)
+                .containsExactly(
+                        tuple("compre ja", 0),
+                        tuple("dinheiro rapido", 18));
+    }
+
+    @Test
+    void limitePalavraEvitaFalsosPositivos() {
+        List<String> termos = List.of("bet", "spam");
+
+        assertThat(buscar(AutomatoTermos.compilar(termos, true), "Ordenação do alfabeto, sem spamming")).isEmpty();
+        assertThat(buscar(AutomatoTermos.compilar(termos, true), "Aposte na bet!")).hasSize(1);
+        assertThat(buscar(AutomatoTermos.compilar(termos, false), "Ordenação do alfabeto")).hasSize(1);
+    }
+
+    @Test
+    void listaVaziaNaoEncontraNada() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("", "  "), true);
+
+        assertThat(automato.quantidadeTermos()).isZero();
+        assertThat(buscar(automato, "qualquer texto")).isEmpty();
+        assertThat(buscar(automato, null)).isEmpty();
+    }
+}
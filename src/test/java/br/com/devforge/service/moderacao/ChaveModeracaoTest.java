@@ -0,0 +1,56 @@
+package br.com.devforge.service.moderacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChaveModeracaoTest {
+
+    @Test
+    void copiasQueSoMudamCaixaEAcentosTemAMesmaChave() {
+        ChaveModeracao original = ChaveModeracao.de(1, "Compre Já", "Dinheiro rápido", "a", "b");
+        ChaveModeracao copia = ChaveModeracao.de(1, "COMPRE JA", "dinheiro RAPIDO", "A", "B");
+
+        assertThat(copia).isEqualTo(original);
+        assertThat(copia.hashCode()).isEqualTo(original.hashCode());
+    }
+
+    @Test
+    void mudancasQueAVarreduraEnxergaGeramChavesDiferentes() {
+        ChaveModeracao original = ChaveModeracao.de(1, "compre ja", "contexto", "a", "b");
+
+        assertThat(ChaveModeracao.de(1, "compre  ja", "contexto", "a", "b")).isNotEqualTo(original); // Espaço a mais
+        assertThat(ChaveModeracao.de(1, " compre ja", "contexto", "a", "b")).isNotEqualTo(original);
+        assertThat(ChaveModeracao.de(1, "compre j", "acontexto", "a", "b")).isNotEqualTo(original); // Fronteira entre campos
+        assertThat(ChaveModeracao.de(2, "compre ja", "contexto", "a", "b")).isNotEqualTo(original); // Outra blocklist
+    }
+
+    @Test
+    void campoNuloEquivaleAVazio() {
+        assertThat(ChaveModeracao.de(1, "titulo", null, "a", "b"))
+                .isEqualTo(ChaveModeracao.de(1, "titulo", "", "a", "b"));
+    }
+
+    @Test
+    void mesmoVereditoParaAsCopiasNormalizadas() {
+        // A chave só junta conteúdos que o automato também não distingue
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("compre ja"), true);
+        for (String texto : List.of("Ofertas: Compre Já!", "OFERTAS: COMPRE JA!", "ofertas: compre já!")) {
+            List<OcorrenciaTermo> ocorrencias = new ArrayList<>();
+            automato.buscar("titulo", texto, ocorrencias);
+            assertThat(ocorrencias).containsExactly(new OcorrenciaTermo("compre ja", "titulo", 9));
+            assertThat(ChaveModeracao.de(1, texto)).isEqualTo(ChaveModeracao.de(1, "ofertas: compre ja!"));
+        }
+    }
+
+    @Test
+    void textoLongoAtravessaOsBlocosDoHash() {
+        String longo = "x".repeat(10_000) + "fim";
+
+        assertThat(ChaveModeracao.de(1, longo)).isEqualTo(ChaveModeracao.de(1, longo.toUpperCase()));
+        assertThat(ChaveModeracao.de(1, longo)).isNotEqualTo(ChaveModeracao.de(1, "x".repeat(10_000) + "fin"));
+    }
+}
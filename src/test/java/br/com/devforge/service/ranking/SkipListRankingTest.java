@@ -0,0 +1,92 @@
+package br.com.devforge.service.ranking;
+
+import br.com.devforge.dto.EntradaRanking;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkipListRankingTest {
+
+    private static final Comparator<EntradaRanking> ORDEM = Comparator
+            .comparing(EntradaRanking::xpTotal, Comparator.reverseOrder())
+            .thenComparing(EntradaRanking::usuarioId);
+
+    @Test
+    void ordenaPorXpDecrescenteEDesempataPeloId() {
+        SkipListRanking ranking = new SkipListRanking();
+        ranking.inserir(entrada(3, 500));
+        ranking.inserir(entrada(1, 100));
+        ranking.inserir(entrada(2, 500));
+
+        assertThat(ranking.intervalo(1, 10)).extracting(EntradaRanking::usuarioId).containsExactly(2L, 3L, 1L);
+        assertThat(ranking.posicao(1)).isEqualTo(3);
+        assertThat(ranking.posicao(99)).isZero();
+    }
+
+    @Test
+    void atualizarXpMoveOUsuarioSemDuplicar() {
+        SkipListRanking ranking = new SkipListRanking();
+        ranking.inserir(entrada(1, 100));
+        ranking.inserir(entrada(2, 200));
+
+        ranking.inserir(entrada(1, 300));
+
+        assertThat(ranking.tamanho()).isEqualTo(2);
+        assertThat(ranking.posicao(1)).isEqualTo(1);
+        assertThat(ranking.buscar(1).xpTotal()).isEqualTo(300);
+    }
+
+    @Test
+    void contaUsuariosComXpMinimo() {
+        SkipListRanking ranking = new SkipListRanking();
+        for (int xp : new int[]{0, 299, 300, 999, 1000, 5000}) {
+            ranking.inserir(entrada(xp + 1, xp));
+        }
+
+        assertThat(ranking.contarComXpMinimo(FaixaNivel.SENIOR.getXpLimite())).isZero();
+        assertThat(ranking.contarComXpMinimo(FaixaNivel.PLENO.getXpMinimo())).isEqualTo(2);
+        assertThat(ranking.contarComXpMinimo(FaixaNivel.JUNIOR.getXpMinimo())).isEqualTo(4);
+        assertThat(ranking.contarComXpMinimo(0)).isEqualTo(6);
+    }
+
+    @Test
+    void concordaComUmaListaOrdenadaEmOperacoesAleatorias() {
+        Random random = new Random(42);
+        SkipListRanking ranking = new SkipListRanking();
+        Map<Long, EntradaRanking> esperado = new HashMap<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                ranking.remover(id);
+                esperado.remove(id);
+            } else {
+                EntradaRanking entrada = entrada(id, random.nextInt(2_000));
+                ranking.inserir(entrada);
+                esperado.put(id, entrada);
+            }
+        }
+
+        List<EntradaRanking> ordenado = new ArrayList<>(esperado.values());
+        ordenado.sort(ORDEM);
+        assertThat(ranking.tamanho()).isEqualTo(ordenado.size());
+        assertThat(ranking.intervalo(1, ordenado.size())).containsExactlyElementsOf(ordenado);
+        for (int i = 0; i < ordenado.size(); i++) {
+            assertThat(ranking.posicao(ordenado.get(i).usuarioId())).isEqualTo(i + 1);
+        }
+        assertThat(ranking.intervalo(11, 5)).containsExactlyElementsOf(ordenado.subList(10, 15));
+        long comXpMinimo = ordenado.stream().filter(e -> e.xpTotal() >= 1_000).count();
+        assertThat(ranking.contarComXpMinimo(1_000)).isEqualTo(comXpMinimo);
+    }
+
+    private static EntradaRanking entrada(long id, int xp) {
+        return new EntradaRanking(id, "dev" + id, null, xp, "INICIANTE I");
+    }
+}